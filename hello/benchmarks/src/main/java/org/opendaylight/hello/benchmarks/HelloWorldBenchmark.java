@@ -0,0 +1,153 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
+import org.opendaylight.controller.md.sal.binding.test.DataBrokerTestCustomizer;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.hello.impl.HelloConfig;
+import org.opendaylight.hello.impl.HelloWorldImpl;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntryBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntryKey;
+import org.opendaylight.yangtools.sal.binding.generator.impl.ModuleInfoBackedContext;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.binding.util.BindingReflections;
+import org.opendaylight.yangtools.yang.common.RpcResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link HelloWorldImpl#helloWorld(HelloWorldInput)} against a real in-memory MD-SAL data broker.
+ *
+ * <p>Each benchmark method calls the RPC from a different number of threads over a population of
+ * {@link #names} names. {@link Mode#SampleTime} reports the latency percentiles, allocation per operation
+ * is reported by the GC profiler that {@link BenchmarkRunner} enables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class HelloWorldBenchmark {
+
+    /** Whether the greeting cache is enabled. */
+    @Param({"true", "false"})
+    public boolean cached;
+
+    /** Whether the names have a programmed greeting or get the default one. */
+    @Param({"true", "false"})
+    public boolean programmed;
+
+    /** Number of hot names tracked and pinned in the greeting cache, 0 disables the tracking. */
+    @Param({"0", "32"})
+    public int hotNames;
+
+    @Param({"1000"})
+    public int names;
+
+    private HelloWorldImpl helloWorld;
+    private HelloWorldInput[] inputs;
+
+    @State(Scope.Thread)
+    public static class Caller {
+        private int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        DataBroker db = createDataBroker();
+        helloWorld = new HelloWorldImpl(db, new HelloConfig.Builder()
+                .setGreetingCacheSize(cached ? names : 0)
+                .setHotNameCount(hotNames)
+                .build());
+
+        inputs = new HelloWorldInput[names];
+        WriteTransaction transaction = db.newWriteOnlyTransaction();
+        for (int i = 0; i < names; i++) {
+            String name = "name-" + i;
+            inputs[i] = new HelloWorldInputBuilder().setName(name).build();
+            if (programmed) {
+                InstanceIdentifier<GreetingRegistryEntry> iid = InstanceIdentifier.create(GreetingRegistry.class)
+                        .child(GreetingRegistryEntry.class, new GreetingRegistryEntryKey(name));
+                transaction.put(LogicalDatastoreType.CONFIGURATION, iid, new GreetingRegistryEntryBuilder()
+                        .setName(name)
+                        .setGreeting("Hola " + name)
+                        .build(), true);
+            }
+        }
+        transaction.submit().checkedGet();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        helloWorld.close();
+    }
+
+    private static DataBroker createDataBroker() {
+        DataBrokerTestCustomizer customizer = new DataBrokerTestCustomizer();
+        DataBroker db = customizer.createDataBroker();
+        ModuleInfoBackedContext moduleContext = ModuleInfoBackedContext.create();
+        moduleContext.addModuleInfos(BindingReflections.loadModuleInfos());
+        customizer.updateSchema(moduleContext.tryToCreateSchemaContext().get());
+        return db;
+    }
+
+    private RpcResult<HelloWorldOutput> call(Caller caller) throws Exception {
+        HelloWorldInput input = inputs[caller.next];
+        caller.next = (caller.next + 1) % inputs.length;
+        RpcResult<HelloWorldOutput> result = helloWorld.helloWorld(input).get();
+        if (!result.isSuccessful()) {
+            throw new IllegalStateException("RPC failed: " + result.getErrors());
+        }
+        return result;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public RpcResult<HelloWorldOutput> oneCaller(Caller caller) throws Exception {
+        return call(caller);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public RpcResult<HelloWorldOutput> fourCallers(Caller caller) throws Exception {
+        return call(caller);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public RpcResult<HelloWorldOutput> sixteenCallers(Caller caller) throws Exception {
+        return call(caller);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public RpcResult<HelloWorldOutput> sixtyFourCallers(Caller caller) throws Exception {
+        return call(caller);
+    }
+}
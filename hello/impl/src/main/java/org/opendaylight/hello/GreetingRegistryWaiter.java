@@ -0,0 +1,179 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.hello;
+
+import com.google.common.util.concurrent.AbstractFuture;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.DataObjectModification;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeChangeListener;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeIdentifier;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeModification;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryEntryFields;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntry;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+
+/**
+ * Waits for greetings to be written to the OPERATIONAL greeting-registry.
+ *
+ * <p>A single data-tree change listener serves all waiters. Each change is dispatched with one map lookup
+ * by name, so the cost of a change does not grow with the number of outstanding waiters. A waiter is
+ * removed from the map when it completes, times out or is cancelled.
+ */
+public class GreetingRegistryWaiter implements DataTreeChangeListener<GreetingRegistryEntryFields>, AutoCloseable {
+    private final ConcurrentMap<String, List<Waiter>> waiters = new ConcurrentHashMap<>();
+    private final ListenerRegistration<GreetingRegistryWaiter> registration;
+    private final ScheduledExecutorService timer;
+
+    public GreetingRegistryWaiter(DataBroker db) {
+        this(db, RegistryLayout.FLAT);
+    }
+
+    public GreetingRegistryWaiter(DataBroker db, RegistryLayout layout) {
+        this.timer = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("hello-registry-waiter-%d")
+                .setDaemon(true)
+                .build());
+        this.registration = db.registerDataTreeChangeListener(
+                new DataTreeIdentifier<>(LogicalDatastoreType.OPERATIONAL, layout.entriesPath()), this);
+    }
+
+    /**
+     * Returns a future completed with the next entry created or updated for a name.
+     */
+    public ListenableFuture<GreetingRegistryEntry> waitFor(String name) {
+        Waiter waiter = new Waiter(name);
+        add(waiter);
+        return waiter;
+    }
+
+    /**
+     * Like {@link #waitFor(String)}, but fails the future with a {@link TimeoutException} if no entry is
+     * written within the timeout.
+     */
+    public ListenableFuture<GreetingRegistryEntry> waitFor(String name, long timeout, TimeUnit unit) {
+        final Waiter waiter = new Waiter(name);
+        add(waiter);
+        waiter.timeout = timer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                waiter.setException(new TimeoutException("No greeting written for " + waiter.name
+                        + " within " + timeout + " " + unit));
+            }
+        }, timeout, unit);
+        return waiter;
+    }
+
+    private void add(final Waiter waiter) {
+        waiters.compute(waiter.name, (name, list) -> {
+            List<Waiter> result = list == null ? new ArrayList<>(1) : list;
+            result.add(waiter);
+            return result;
+        });
+    }
+
+    private void remove(final Waiter waiter) {
+        waiters.computeIfPresent(waiter.name, (name, list) -> {
+            list.remove(waiter);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    /**
+     * Returns the number of outstanding waiters.
+     */
+    public int size() {
+        int size = 0;
+        for (List<Waiter> list : waiters.values()) {
+            size += list.size();
+        }
+        return size;
+    }
+
+    @Override
+    public void onDataTreeChanged(Collection<DataTreeModification<GreetingRegistryEntryFields>> changes) {
+        for (DataTreeModification<GreetingRegistryEntryFields> change : changes) {
+            DataObjectModification<GreetingRegistryEntryFields> node = change.getRootNode();
+            GreetingRegistryEntryFields entry = node.getDataAfter();
+            if (entry == null || node.getModificationType() == DataObjectModification.ModificationType.DELETE) {
+                continue;
+            }
+            List<Waiter> list = waiters.remove(entry.getName());
+            if (list != null) {
+                GreetingRegistryEntry flat = RegistryLayout.toFlat(entry);
+                for (Waiter waiter : list) {
+                    waiter.set(flat);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (registration != null) {
+            registration.close();
+        }
+        timer.shutdownNow();
+        for (String name : waiters.keySet()) {
+            List<Waiter> list = waiters.remove(name);
+            if (list != null) {
+                for (Waiter waiter : list) {
+                    waiter.cancel(false);
+                }
+            }
+        }
+    }
+
+    private final class Waiter extends AbstractFuture<GreetingRegistryEntry> {
+        private final String name;
+        private volatile ScheduledFuture<?> timeout;
+
+        Waiter(String name) {
+            this.name = name;
+        }
+
+        @Override
+        protected boolean set(GreetingRegistryEntry value) {
+            return done(super.set(value));
+        }
+
+        @Override
+        protected boolean setException(Throwable throwable) {
+            return done(super.setException(throwable));
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return done(super.cancel(mayInterruptIfRunning));
+        }
+
+        private boolean done(boolean completed) {
+            if (completed) {
+                remove(this);
+                ScheduledFuture<?> pending = timeout;
+                if (pending != null) {
+                    pending.cancel(false);
+                }
+            }
+            return completed;
+        }
+    }
+}
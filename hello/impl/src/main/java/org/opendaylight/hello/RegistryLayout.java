@@ -0,0 +1,123 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.hello;
+
+import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryEntryFields;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntryBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntryKey;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+/**
+ * Where greeting-registry entries live in the datastore.
+ *
+ * <p>The flat layout keeps all entries in the single greeting-registry list. The sharded layout spreads them
+ * over the shards of greeting-registry-shards by a hash of the name, so commits touching different shards
+ * modify disjoint subtrees.
+ *
+ * <p>Each layout has its own entry class, and both implement {@link GreetingRegistryEntryFields}. Entries are
+ * read and listened to through that interface, and written with {@link #put}, which builds the class of the
+ * layout.
+ */
+public final class RegistryLayout {
+    public static final RegistryLayout FLAT = new RegistryLayout(0);
+    private static final InstanceIdentifier<GreetingRegistryEntryFields> FLAT_ENTRIES = fieldsOf(
+            InstanceIdentifier.create(GreetingRegistry.class).child(GreetingRegistryEntry.class));
+    private static final InstanceIdentifier<GreetingRegistryEntryFields> SHARDED_ENTRIES = fieldsOf(ShardEntries.ALL);
+    private final int shards;
+
+    private RegistryLayout(int shards) {
+        this.shards = shards;
+    }
+
+    /**
+     * Returns the layout with the given number of shards, 0 for the flat layout.
+     */
+    public static RegistryLayout of(int shards) {
+        if (shards < 0) {
+            throw new IllegalArgumentException("Shard count must not be negative, was " + shards);
+        }
+        return shards == 0 ? FLAT : new RegistryLayout(shards);
+    }
+
+    public boolean isSharded() {
+        return shards > 0;
+    }
+
+    public int getShards() {
+        return shards;
+    }
+
+    /**
+     * Returns the shard of a name, or 0 in the flat layout.
+     */
+    public int shardOf(String name) {
+        if (shards == 0 || name == null) {
+            return 0;
+        }
+        int h = name.hashCode();
+        h ^= h >>> 16;
+        return (h & Integer.MAX_VALUE) % shards;
+    }
+
+    /**
+     * Returns the path of the entry of a name, to read or delete it. Use {@link #put} to write it.
+     */
+    public InstanceIdentifier<GreetingRegistryEntryFields> entryPath(String name) {
+        return fieldsOf(shards == 0 ? flatEntryPath(name) : ShardEntries.path(shardOf(name), name));
+    }
+
+    /**
+     * Puts an entry at its place in this layout.
+     */
+    public void put(WriteTransaction transaction, LogicalDatastoreType store, GreetingRegistryEntryFields entry) {
+        if (shards == 0) {
+            transaction.put(store, flatEntryPath(entry.getName()), toFlat(entry));
+        } else {
+            String name = entry.getName();
+            transaction.put(store, ShardEntries.path(shardOf(name), name), ShardEntries.of(entry));
+        }
+    }
+
+    /**
+     * Returns the wildcarded path of all entries, to register listeners on.
+     */
+    public InstanceIdentifier<GreetingRegistryEntryFields> entriesPath() {
+        return shards == 0 ? FLAT_ENTRIES : SHARDED_ENTRIES;
+    }
+
+    /**
+     * Returns an entry of any layout as an entry of the flat greeting-registry.
+     */
+    public static GreetingRegistryEntry toFlat(GreetingRegistryEntryFields entry) {
+        return entry instanceof GreetingRegistryEntry
+                ? (GreetingRegistryEntry) entry
+                : new GreetingRegistryEntryBuilder(entry).build();
+    }
+
+    private static InstanceIdentifier<GreetingRegistryEntry> flatEntryPath(String name) {
+        return InstanceIdentifier.create(GreetingRegistry.class)
+                .child(GreetingRegistryEntry.class, new GreetingRegistryEntryKey(name));
+    }
+
+    // the path carries the entry class of its layout, the binding only relies on that
+    @SuppressWarnings("unchecked")
+    private static InstanceIdentifier<GreetingRegistryEntryFields> fieldsOf(
+            InstanceIdentifier<? extends GreetingRegistryEntryFields> path) {
+        return (InstanceIdentifier<GreetingRegistryEntryFields>) path;
+    }
+
+    @Override
+    public String toString() {
+        return shards == 0 ? "flat" : shards + " shards";
+    }
+}
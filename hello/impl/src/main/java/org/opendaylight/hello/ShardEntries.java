@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.hello;
+
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryEntryFields;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryShards;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.shards.Shard;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.shards.ShardKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.shards.shard.GreetingRegistryEntry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.shards.shard.GreetingRegistryEntryBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.shards.shard.GreetingRegistryEntryKey;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+/**
+ * The entries of greeting-registry-shards, whose class shares its name with the flat greeting-registry entry.
+ */
+final class ShardEntries {
+    static final InstanceIdentifier<GreetingRegistryEntry> ALL = InstanceIdentifier.create(GreetingRegistryShards.class)
+            .child(Shard.class)
+            .child(GreetingRegistryEntry.class);
+
+    private ShardEntries() {
+    }
+
+    static InstanceIdentifier<GreetingRegistryEntry> path(int shard, String name) {
+        return InstanceIdentifier.create(GreetingRegistryShards.class)
+                .child(Shard.class, new ShardKey((long) shard))
+                .child(GreetingRegistryEntry.class, new GreetingRegistryEntryKey(name));
+    }
+
+    static GreetingRegistryEntry of(GreetingRegistryEntryFields entry) {
+        return entry instanceof GreetingRegistryEntry
+                ? (GreetingRegistryEntry) entry
+                : new GreetingRegistryEntryBuilder(entry).build();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.hello.impl;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds the number of RPCs in progress.
+ *
+ * <p>A call first tries to take an in-flight slot with {@link #tryAdmit()}. If none is free it may wait
+ * in a bounded queue with {@link #enqueue(Runnable)}, and is started by whichever call releases the next
+ * slot. Once the queue is full as well, calls are rejected so that pending work cannot pile up without
+ * limit while the datastore is slow.
+ */
+public class AdmissionController {
+    private final int maxInFlight;
+    private final int maxQueued;
+    private final HelloMetrics metrics;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    // set while this thread drains the queue
+    private final ThreadLocal<Boolean> draining = new ThreadLocal<>();
+
+    /**
+     * @param maxInFlight maximum number of admitted calls, 0 for no limit
+     * @param maxQueued maximum number of calls waiting for a slot, 0 to reject as soon as the limit is reached
+     */
+    public AdmissionController(int maxInFlight, int maxQueued, HelloMetrics metrics) {
+        this.maxInFlight = maxInFlight;
+        this.maxQueued = maxQueued;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Takes an in-flight slot if one is free. Every successful call must be paired with {@link #release()}.
+     */
+    public boolean tryAdmit() {
+        if (maxInFlight <= 0) {
+            return true;
+        }
+        for (;;) {
+            int current = inFlight.get();
+            if (current >= maxInFlight) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Queues a call that did not get a slot. The call runs once it has taken a slot, and must then
+     * {@link #release()} it like any other admitted call.
+     *
+     * @return false if the queue is full, the call is rejected and will never run
+     */
+    public boolean enqueue(Runnable start) {
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            metrics.rpcRejected();
+            return false;
+        }
+        metrics.rpcQueued();
+        queue.add(start);
+        // a slot may have been released between tryAdmit() and adding to the queue
+        drain();
+        return true;
+    }
+
+    /**
+     * Removes a queued call that is no longer wanted, for example because its deadline passed.
+     *
+     * @return false if the call is not queued, it may already have been started
+     */
+    public boolean withdraw(Runnable start) {
+        if (!queue.remove(start)) {
+            return false;
+        }
+        queued.decrementAndGet();
+        metrics.rpcDequeued();
+        return true;
+    }
+
+    public void release() {
+        if (maxInFlight <= 0) {
+            return;
+        }
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    private void drain() {
+        if (draining.get() != null) {
+            // a started call completed right away and released its slot, the loop below picks up the next one
+            // rather than nesting a drain per queued call
+            return;
+        }
+        draining.set(Boolean.TRUE);
+        try {
+            while (!queue.isEmpty() && tryAdmit()) {
+                Runnable start = queue.poll();
+                if (start == null) {
+                    // another thread took the queued call first, give the slot back
+                    inFlight.decrementAndGet();
+                    continue;
+                }
+                queued.decrementAndGet();
+                metrics.rpcDequeued();
+                start.run();
+            }
+        } finally {
+            draining.remove();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.hello.impl;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
+import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
+import org.opendaylight.hello.RegistryLayout;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryEntryFields;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryShards;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.shards.Shard;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Exports the CONFIGURATION greeting registry to a {@link GreetingRegistryFile} and imports one back.
+ *
+ * <p>Files are resolved against the configured directory, and names leading outside of it are refused.
+ * Transfers run one at a time on their own thread. An import puts the entries in transactions of at most
+ * {@code chunkSize} entries, decoding the next chunk while the previous one commits, so that neither the
+ * datastore nor the heap ever holds more than two chunks in flight. Chunks committed before an import fails
+ * stay imported.
+ */
+public class BulkTransfer implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(BulkTransfer.class);
+    private static final long TIMEOUT_SECONDS = 60;
+    private final DataBroker db;
+    private final RegistryLayout layout;
+    private final Path directory;
+    private final int chunkSize;
+    private final ListeningExecutorService executor;
+
+    public BulkTransfer(DataBroker db, RegistryLayout layout, String directory, int chunkSize) {
+        this.db = db;
+        this.layout = layout;
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        this.chunkSize = chunkSize;
+        this.executor = MoreExecutors.listeningDecorator(Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("hello-bulk-transfer-%d")
+                .setDaemon(true)
+                .build()));
+    }
+
+    /**
+     * Returns the path of a file name within the directory.
+     *
+     * @throws IllegalArgumentException if the name is empty or resolves outside of the directory
+     */
+    Path resolve(String file) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("No file given");
+        }
+        Path path = directory.resolve(file).normalize();
+        if (!path.startsWith(directory) || path.equals(directory)) {
+            throw new IllegalArgumentException("File " + file + " is outside of " + directory);
+        }
+        return path;
+    }
+
+    /**
+     * Exports the registry, returning the number of entries written.
+     */
+    public ListenableFuture<Integer> exportTo(final Path file) {
+        return executor.submit(new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                List<GreetingRegistryEntryFields> entries = readEntries();
+                Files.createDirectories(file.getParent());
+                try (GreetingRegistryFile.Writer writer = new GreetingRegistryFile.Writer(file)) {
+                    for (GreetingRegistryEntryFields entry : entries) {
+                        writer.write(entry);
+                    }
+                    LOG.info("Exported {} greeting-registry entries to {}", writer.getEntries(), file);
+                    return writer.getEntries();
+                }
+            }
+        });
+    }
+
+    private List<GreetingRegistryEntryFields> readEntries() throws ReadFailedException, TimeoutException {
+        try (ReadOnlyTransaction transaction = db.newReadOnlyTransaction()) {
+            if (!layout.isSharded()) {
+                Optional<GreetingRegistry> registry = transaction.read(LogicalDatastoreType.CONFIGURATION,
+                        InstanceIdentifier.create(GreetingRegistry.class))
+                        .checkedGet(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                return registry.isPresent() && registry.get().getGreetingRegistryEntry() != null
+                        ? new ArrayList<GreetingRegistryEntryFields>(registry.get().getGreetingRegistryEntry())
+                        : Collections.<GreetingRegistryEntryFields>emptyList();
+            }
+            Optional<GreetingRegistryShards> shards = transaction.read(LogicalDatastoreType.CONFIGURATION,
+                    InstanceIdentifier.create(GreetingRegistryShards.class))
+                    .checkedGet(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            List<GreetingRegistryEntryFields> entries = new ArrayList<>();
+            if (shards.isPresent() && shards.get().getShard() != null) {
+                for (Shard shard : shards.get().getShard()) {
+                    if (shard.getGreetingRegistryEntry() != null) {
+                        entries.addAll(shard.getGreetingRegistryEntry());
+                    }
+                }
+            }
+            return entries;
+        }
+    }
+
+    /**
+     * Imports a file, returning the number of entries put into the registry.
+     */
+    public ListenableFuture<Integer> importFrom(final Path file) {
+        return executor.submit(new Callable<Integer>() {
+            @Override
+            public Integer call() throws Exception {
+                return importEntries(file);
+            }
+        });
+    }
+
+    private int importEntries(Path file) throws IOException, TransactionCommitFailedException, TimeoutException {
+        int imported = 0;
+        CheckedFuture<Void, TransactionCommitFailedException> previous = null;
+        try (GreetingRegistryFile.Reader reader = new GreetingRegistryFile.Reader(file)) {
+            while (reader.hasNext()) {
+                WriteTransaction transaction = db.newWriteOnlyTransaction();
+                int chunk = 0;
+                try {
+                    while (chunk < chunkSize && reader.hasNext()) {
+                        GreetingRegistryEntry entry = reader.next();
+                        layout.put(transaction, LogicalDatastoreType.CONFIGURATION, entry);
+                        chunk++;
+                    }
+                } catch (IOException e) {
+                    transaction.cancel();
+                    throw e;
+                }
+                if (previous != null) {
+                    previous.checkedGet(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                }
+                previous = transaction.submit();
+                imported += chunk;
+            }
+            if (previous != null) {
+                previous.checkedGet(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+        }
+        LOG.info("Imported {} greeting-registry entries from {}", imported, file);
+        return imported;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
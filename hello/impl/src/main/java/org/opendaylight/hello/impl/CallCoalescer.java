@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.hello.impl;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls with the same key into one.
+ *
+ * <p>The first call for a key is started, and every call for that key arriving before it completes receives
+ * its result instead of being started itself. With a window, a result accepted by the {@code reusable}
+ * predicate keeps being handed out for that long after it completed; failures are never reused. Each caller
+ * gets its own future, so cancelling one call does not affect the others sharing its result.
+ *
+ * @param <K> the key type
+ * @param <V> the result type
+ */
+public class CallCoalescer<K, V> implements AutoCloseable {
+    private final ConcurrentMap<K, SettableFuture<V>> calls = new ConcurrentHashMap<>();
+    private final HelloMetrics metrics;
+    private final long windowMillis;
+    private final Predicate<? super V> reusable;
+    private final ScheduledExecutorService timer;
+
+    public CallCoalescer(HelloMetrics metrics, long windowMillis, Predicate<? super V> reusable) {
+        this.metrics = metrics;
+        this.windowMillis = windowMillis;
+        this.reusable = reusable;
+        this.timer = windowMillis > 0 ? Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("hello-coalescing-window-%d")
+                .setDaemon(true)
+                .build()) : null;
+    }
+
+    /**
+     * Returns the result of the call in progress for a key, or of a new call from {@code start} if there is none.
+     */
+    public ListenableFuture<V> call(final K key, Supplier<? extends ListenableFuture<V>> start) {
+        final SettableFuture<V> shared = SettableFuture.create();
+        SettableFuture<V> existing = calls.putIfAbsent(key, shared);
+        if (existing != null) {
+            metrics.rpcCollapsed();
+            return follow(existing);
+        }
+        ListenableFuture<V> started;
+        try {
+            started = start.get();
+        } catch (RuntimeException e) {
+            shared.setException(e);
+            calls.remove(key, shared);
+            throw e;
+        }
+        Futures.addCallback(started, new FutureCallback<V>() {
+            @Override
+            public void onSuccess(V result) {
+                shared.set(result);
+                release(key, shared, reusable.test(result));
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                shared.setException(t);
+                release(key, shared, false);
+            }
+        }, MoreExecutors.directExecutor());
+        return follow(shared);
+    }
+
+    private void release(final K key, final SettableFuture<V> shared, boolean reusable) {
+        if (reusable && timer != null) {
+            try {
+                timer.schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        calls.remove(key, shared);
+                    }
+                }, windowMillis, TimeUnit.MILLISECONDS);
+                return;
+            } catch (RejectedExecutionException e) {
+                // closed, fall through
+            }
+        }
+        calls.remove(key, shared);
+    }
+
+    private static <V> ListenableFuture<V> follow(ListenableFuture<V> shared) {
+        final SettableFuture<V> follower = SettableFuture.create();
+        Futures.addCallback(shared, new FutureCallback<V>() {
+            @Override
+            public void onSuccess(V result) {
+                follower.set(result);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                follower.setException(t);
+            }
+        }, MoreExecutors.directExecutor());
+        return follower;
+    }
+
+    /**
+     * Returns the number of keys with a call in progress or a result within its window.
+     */
+    public int size() {
+        return calls.size();
+    }
+
+    @Override
+    public void close() {
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+        calls.clear();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.hello.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the continuations of hello calls, such as building the output once the greeting was read and
+ * submitting the operational write, so that they do not occupy the datastore's commit and notification
+ * threads.
+ *
+ * <p>The pool has a fixed number of threads and a bounded queue. When the queue is full, or the executor was
+ * closed, the continuation runs on the thread completing the future instead, which slows down the datastore
+ * rather than losing callbacks and leaving the futures of the calls incomplete. Queue depth and those
+ * fallbacks are recorded in {@link HelloMetrics}.
+ */
+public class CallbackExecutor extends ThreadPoolExecutor implements AutoCloseable {
+    private final HelloMetrics metrics;
+
+    public CallbackExecutor(int threads, int queueSize, String threadPrefix, final HelloMetrics metrics) {
+        super(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(queueSize),
+                new ThreadFactoryBuilder()
+                        .setNameFormat(threadPrefix + "-%d")
+                        .setDaemon(true)
+                        .build(),
+                new RejectedExecutionHandler() {
+                    @Override
+                    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+                        metrics.callbackDequeued();
+                        metrics.callbackRanOnCaller();
+                        task.run();
+                    }
+                });
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        metrics.callbackQueued();
+        super.execute(task);
+    }
+
+    @Override
+    protected void beforeExecute(Thread thread, Runnable task) {
+        metrics.callbackDequeued();
+        super.beforeExecute(thread, task);
+    }
+
+    @Override
+    public void close() {
+        shutdown();
+        try {
+            awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
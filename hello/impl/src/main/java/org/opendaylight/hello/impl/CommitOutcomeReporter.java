@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.hello.impl;
+
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import org.opendaylight.controller.md.sal.common.api.data.OptimisticLockFailedException;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionChainClosedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Aggregates the outcome of operational greeting-registry commits instead of logging each of them.
+ *
+ * <p>Successes are only counted. Failures are counted per {@link Cause}, and only the first few of each
+ * cause in an interval are logged with their stack trace. At the end of every interval with activity a
+ * single summary line is logged, at WARN if anything failed and at DEBUG otherwise.
+ */
+public class CommitOutcomeReporter implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(CommitOutcomeReporter.class);
+
+    enum Cause {
+        OPTIMISTIC_LOCK("optimistic lock conflict"),
+        CHAIN_FAILURE("transaction chain failure"),
+        OTHER("other failure");
+
+        private final String description;
+
+        Cause(String description) {
+            this.description = description;
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+
+    private static final Cause[] CAUSES = Cause.values();
+    private final long intervalSeconds;
+    private final int detailLimit;
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder[] failures = new LongAdder[CAUSES.length];
+    private final LongAdder[] abandoned = new LongAdder[CAUSES.length];
+    private final AtomicIntegerArray detailed = new AtomicIntegerArray(CAUSES.length);
+    private final ScheduledExecutorService executor;
+
+    public CommitOutcomeReporter(long intervalSeconds, int detailLimit) {
+        this.intervalSeconds = intervalSeconds;
+        this.detailLimit = detailLimit;
+        for (int i = 0; i < CAUSES.length; i++) {
+            failures[i] = new LongAdder();
+            abandoned[i] = new LongAdder();
+        }
+        this.executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("hello-commit-report-%d")
+                .setDaemon(true)
+                .build());
+        executor.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                report();
+            }
+        }, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public void commitSucceeded() {
+        successes.increment();
+    }
+
+    /**
+     * Records a failed commit of {@code entries} greetings.
+     *
+     * @param retrying whether the commit is going to be retried, otherwise the greetings are not written
+     */
+    public void commitFailed(Throwable failure, int entries, boolean retrying) {
+        Cause cause = classify(failure);
+        failures[cause.ordinal()].increment();
+        if (!retrying) {
+            abandoned[cause.ordinal()].add(entries);
+        }
+        if (detailed.incrementAndGet(cause.ordinal()) <= detailLimit) {
+            LOG.warn("Commit of {} greetings to the operational greeting registry failed with {}, {}", entries,
+                    cause, retrying ? "retrying" : "giving up", failure);
+        }
+    }
+
+    static Cause classify(Throwable failure) {
+        for (Throwable t : Throwables.getCausalChain(failure)) {
+            if (t instanceof OptimisticLockFailedException) {
+                return Cause.OPTIMISTIC_LOCK;
+            }
+            // allocating from a failed chain that was not replaced yet throws IllegalStateException
+            if (t instanceof TransactionChainClosedException || t instanceof IllegalStateException) {
+                return Cause.CHAIN_FAILURE;
+            }
+        }
+        return Cause.OTHER;
+    }
+
+    synchronized void report() {
+        // sumThenReset() may miss updates racing with it, which is fine for a log summary
+        long succeeded = successes.sumThenReset();
+        StringBuilder summary = new StringBuilder();
+        long failed = 0;
+        for (int i = 0; i < CAUSES.length; i++) {
+            long count = failures[i].sumThenReset();
+            long lost = abandoned[i].sumThenReset();
+            detailed.set(i, 0);
+            if (count > 0) {
+                failed += count;
+                summary.append(", ").append(CAUSES[i]).append(": ").append(count);
+                if (lost > 0) {
+                    summary.append(" (").append(lost).append(" greetings not written)");
+                }
+            }
+        }
+        if (failed > 0) {
+            LOG.warn("Operational greeting-registry commits in the last {}s: {} succeeded, {} failed{}",
+                    intervalSeconds, succeeded, failed, summary);
+        } else if (succeeded > 0) {
+            LOG.debug("Operational greeting-registry commits in the last {}s: {} succeeded", intervalSeconds,
+                    succeeded);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        report();
+    }
+}
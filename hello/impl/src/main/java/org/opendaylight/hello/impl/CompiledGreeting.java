@@ -0,0 +1,174 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.hello.impl;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryEntryFields;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.entry.fields.TemplateVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A greeting-registry entry compiled for rendering.
+ *
+ * <p>A greeting template such as {@code "Hola {name}, welcome to {site}"} is parsed once. Variables of the
+ * entry are substituted at that time, which leaves a sequence of literal segments separated by the
+ * {@code {name}} slots. Rendering then only appends the segments and the name into a builder sized
+ * up front. A literal greeting without template renders as itself.
+ */
+public final class CompiledGreeting {
+    private static final Logger LOG = LoggerFactory.getLogger(CompiledGreeting.class);
+    static final String NAME_VARIABLE = "name";
+    private static final Interner<String> GREETINGS = Interners.newWeakInterner();
+
+    /**
+     * The greeting of names that have no entry in the registry.
+     */
+    public static final CompiledGreeting DEFAULT = new CompiledGreeting(new String[] {"Hello ", ""}, false);
+
+    // segments[0] {name} segments[1] {name} ... segments[n - 1]
+    private final String[] segments;
+    private final int literalLength;
+    private final boolean programmed;
+
+    private CompiledGreeting(String[] segments, boolean programmed) {
+        this.segments = segments;
+        this.programmed = programmed;
+        int length = 0;
+        for (String segment : segments) {
+            length += segment.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Compiles a registry entry, or returns {@link #DEFAULT} for an absent one. The entry's template takes
+     * precedence over its literal greeting.
+     *
+     * <p>Malformed templates are rejected by the pattern of the greeting-template type when they are written.
+     * Should one get through anyway, it is logged and the entry falls back to its literal greeting.
+     */
+    public static CompiledGreeting of(Optional<? extends GreetingRegistryEntryFields> entry) {
+        if (!entry.isPresent()) {
+            return DEFAULT;
+        }
+        GreetingRegistryEntryFields value = entry.get();
+        if (value.getGreetingTemplate() != null) {
+            try {
+                return compile(value.getGreetingTemplate().getValue(), variablesOf(value));
+            } catch (IllegalArgumentException e) {
+                LOG.warn("Ignoring malformed greeting template of {}", value.getName(), e);
+            }
+        }
+        return new CompiledGreeting(new String[] {value.getGreeting() == null ? "" : value.getGreeting()}, true);
+    }
+
+    private static Map<String, String> variablesOf(GreetingRegistryEntryFields entry) {
+        List<TemplateVariable> list = entry.getTemplateVariable();
+        if (list == null || list.isEmpty()) {
+            return new HashMap<>();
+        }
+        Map<String, String> variables = new HashMap<>(list.size() * 2);
+        for (TemplateVariable variable : list) {
+            variables.put(variable.getName(), variable.getValue() == null ? "" : variable.getValue());
+        }
+        return variables;
+    }
+
+    /**
+     * Parses a template. {@code {name}} is left for {@link #render(String)}, other variables are replaced by
+     * their value. Unknown variables are kept verbatim so that a missing definition shows in the greeting.
+     *
+     * @throws IllegalArgumentException if braces are unbalanced or a variable name is invalid
+     */
+    static CompiledGreeting compile(String template, Map<String, String> variables) {
+        List<String> segments = new ArrayList<>();
+        StringBuilder segment = new StringBuilder(template.length());
+        int i = 0;
+        while (i < template.length()) {
+            char c = template.charAt(i);
+            if (c == '}') {
+                throw new IllegalArgumentException("Unmatched '}' at " + i + " in template " + template);
+            }
+            if (c != '{') {
+                segment.append(c);
+                i++;
+                continue;
+            }
+            int end = template.indexOf('}', i + 1);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unterminated variable at " + i + " in template " + template);
+            }
+            String variable = template.substring(i + 1, end);
+            checkVariableName(variable, template);
+            if (NAME_VARIABLE.equals(variable)) {
+                segments.add(segment.toString());
+                segment.setLength(0);
+            } else {
+                String value = variables.get(variable);
+                segment.append(value != null ? value : template.substring(i, end + 1));
+            }
+            i = end + 1;
+        }
+        segments.add(segment.toString());
+        return new CompiledGreeting(segments.toArray(new String[segments.size()]), true);
+    }
+
+    private static void checkVariableName(String variable, String template) {
+        boolean valid = !variable.isEmpty() && variable.charAt(0) >= 'a' && variable.charAt(0) <= 'z';
+        for (int i = 1; valid && i < variable.length(); i++) {
+            char c = variable.charAt(i);
+            valid = c >= 'a' && c <= 'z' || c >= '0' && c <= '9' || c == '-';
+        }
+        if (!valid) {
+            throw new IllegalArgumentException("Invalid variable {" + variable + "} in template " + template);
+        }
+    }
+
+    /**
+     * Returns the canonical instance of a greeting, so that indexes holding the same greeting for many names
+     * keep a single copy of it.
+     */
+    static String intern(String greeting) {
+        return GREETINGS.intern(greeting);
+    }
+
+    /**
+     * Returns whether this greeting was programmed in the registry, rather than being the default.
+     */
+    public boolean isProgrammed() {
+        return programmed;
+    }
+
+    /**
+     * Returns whether the rendered greeting contains the name, so that it differs for every name.
+     */
+    public boolean containsName() {
+        return segments.length > 1;
+    }
+
+    public String render(String name) {
+        if (segments.length == 1) {
+            return segments[0];
+        }
+        String value = name == null ? "null" : name;
+        StringBuilder greeting = new StringBuilder(literalLength + (segments.length - 1) * value.length());
+        greeting.append(segments[0]);
+        for (int i = 1; i < segments.length; i++) {
+            greeting.append(value).append(segments[i]);
+        }
+        return greeting.toString();
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.hello.impl;
+
+import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.DataObjectModification;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeChangeListener;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeIdentifier;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeModification;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.hello.RegistryLayout;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryEntryFields;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldOutputBuilder;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded read-through cache of the CONFIGURATION greeting-registry, holding entries as {@link CompiledGreeting}s.
+ *
+ * <p>Absent entries are cached too, as {@link CompiledGreeting#DEFAULT}, so names without a programmed
+ * greeting are served without a read. A data-tree change listener on the registry keeps cached entries
+ * current, compiling each changed entry once, so editing a template only recompiles that entry. Values read
+ * from the datastore are only cached when no change was seen while the read was in flight, so a
+ * slow read can never overwrite a newer entry delivered by the listener. That check and the listener's updates
+ * hold the same lock, so a change cannot slip in between them.
+ *
+ * <p>Names {@link #pin(Set) pinned} as hot are held apart from the bounded cache, so they are never evicted,
+ * together with their rendered output, which is handed out again as long as their greeting does not change.
+ */
+public class GreetingCache implements DataTreeChangeListener<GreetingRegistryEntryFields>, AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(GreetingCache.class);
+    private final Cache<String, CompiledGreeting> entries;
+    private final AtomicLong generation = new AtomicLong();
+    // serializes read-through puts with the listener's changes
+    private final Object lock = new Object();
+    private final ListenerRegistration<GreetingCache> registration;
+    // pinned names, with their greeting once known
+    private final ConcurrentMap<String, AtomicReference<Rendered>> pinned = new ConcurrentHashMap<>();
+
+    public GreetingCache(DataBroker db, long maximumSize) {
+        this(db, RegistryLayout.FLAT, maximumSize);
+    }
+
+    public GreetingCache(DataBroker db, RegistryLayout layout, long maximumSize) {
+        if (maximumSize > 0) {
+            this.entries = CacheBuilder.newBuilder()
+                    .maximumSize(maximumSize)
+                    .build();
+            this.registration = db.registerDataTreeChangeListener(
+                    new DataTreeIdentifier<>(LogicalDatastoreType.CONFIGURATION, layout.entriesPath()), this);
+        } else {
+            this.entries = null;
+            this.registration = null;
+        }
+    }
+
+    /**
+     * Returns the cached greeting for a name, {@link CompiledGreeting#DEFAULT} if the name is known to have no
+     * programmed greeting, or {@code null} on a cache miss.
+     */
+    public CompiledGreeting getIfPresent(String name) {
+        if (entries == null) {
+            return null;
+        }
+        AtomicReference<Rendered> pin = pinned.get(name);
+        if (pin != null) {
+            Rendered rendered = pin.get();
+            if (rendered != null) {
+                return rendered.greeting;
+            }
+        }
+        return entries.getIfPresent(name);
+    }
+
+    /**
+     * Returns the output greeting the given name, the same instance for every call of a pinned name.
+     */
+    public HelloWorldOutput output(String name, CompiledGreeting greeting) {
+        AtomicReference<Rendered> pin = pinned.get(name);
+        Rendered rendered = pin == null ? null : pin.get();
+        if (rendered == null || rendered.greeting != greeting) {
+            // not pinned, or not the current greeting of the name
+            return render(name, greeting);
+        }
+        if (rendered.output != null) {
+            return rendered.output;
+        }
+        HelloWorldOutput output = render(name, greeting);
+        // a change of the greeting meanwhile wins
+        pin.compareAndSet(rendered, new Rendered(greeting, output));
+        return output;
+    }
+
+    private static HelloWorldOutput render(String name, CompiledGreeting greeting) {
+        return new HelloWorldOutputBuilder()
+                .setGreeting(greeting.render(name))
+                .build();
+    }
+
+    /**
+     * Pins the given names, unpinning all others.
+     */
+    public void pin(Set<String> names) {
+        if (entries == null) {
+            return;
+        }
+        synchronized (lock) {
+            pinned.keySet().retainAll(names);
+            for (String name : names) {
+                if (!pinned.containsKey(name)) {
+                    CompiledGreeting greeting = entries.getIfPresent(name);
+                    // an unknown greeting is filled in by the next read
+                    pinned.put(name, new AtomicReference<>(greeting == null ? null : new Rendered(greeting, null)));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of pinned names.
+     */
+    public int pinnedSize() {
+        return pinned.size();
+    }
+
+    /**
+     * Returns the current change generation. Capture it before issuing a read and hand it back to
+     * {@link #put(String, CompiledGreeting, long)} with the result.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(String name, CompiledGreeting greeting, long readGeneration) {
+        if (entries == null) {
+            return;
+        }
+        synchronized (lock) {
+            if (generation.get() == readGeneration) {
+                changed(name, greeting);
+            }
+        }
+    }
+
+    private void changed(String name, CompiledGreeting greeting) {
+        entries.put(name, greeting);
+        AtomicReference<Rendered> pin = pinned.get(name);
+        if (pin != null) {
+            pin.set(new Rendered(greeting, null));
+        }
+    }
+
+    @Override
+    public void onDataTreeChanged(Collection<DataTreeModification<GreetingRegistryEntryFields>> changes) {
+        synchronized (lock) {
+            generation.incrementAndGet();
+            for (DataTreeModification<GreetingRegistryEntryFields> change : changes) {
+                DataObjectModification<GreetingRegistryEntryFields> node = change.getRootNode();
+                switch (node.getModificationType()) {
+                    case WRITE:
+                    case SUBTREE_MODIFIED:
+                        GreetingRegistryEntryFields after = node.getDataAfter();
+                        changed(after.getName(), CompiledGreeting.of(Optional.of(after)));
+                        break;
+                    case DELETE:
+                        changed(node.getDataBefore().getName(), CompiledGreeting.DEFAULT);
+                        break;
+                    default:
+                        LOG.debug("Ignoring unhandled modification {}", node.getModificationType());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (registration != null) {
+            registration.close();
+            entries.invalidateAll();
+            pinned.clear();
+        }
+    }
+
+    // the greeting of a pinned name, with its output once a call rendered it
+    private static final class Rendered {
+        private final CompiledGreeting greeting;
+        private final HelloWorldOutput output;
+
+        Rendered(CompiledGreeting greeting, HelloWorldOutput output) {
+            this.greeting = greeting;
+            this.output = output;
+        }
+    }
+}
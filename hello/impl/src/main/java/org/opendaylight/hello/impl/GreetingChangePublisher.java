@@ -0,0 +1,147 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.hello.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.DataObjectModification;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeChangeListener;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeIdentifier;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeModification;
+import org.opendaylight.controller.md.sal.binding.api.NotificationPublishService;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.hello.RegistryLayout;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryEntryFields;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingsChanged;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingsChangedBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greetings.changed.ChangedGreeting;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greetings.changed.ChangedGreetingBuilder;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+
+/**
+ * Publishes changes of the operational greeting registry as greetings-changed notifications.
+ *
+ * <p>Changes are coalesced per name, so a notification carries only the latest state of each name changed
+ * since the previous one, and a re-put of an unchanged greeting is not reported. A notification is published as soon as {@code batchSize} names changed, or
+ * {@code windowMillis} after the first change it holds. Notifications are offered without blocking; one
+ * the notification queue does not accept is dropped, which consumers see as a gap in the sequence numbers.
+ */
+public class GreetingChangePublisher implements DataTreeChangeListener<GreetingRegistryEntryFields>, AutoCloseable {
+    private final NotificationPublishService publishService;
+    private final HelloMetrics metrics;
+    private final int batchSize;
+    private final long windowMillis;
+    private final ScheduledExecutorService executor;
+    private final ListenerRegistration<GreetingChangePublisher> registration;
+    // guarded by this
+    private Map<String, ChangedGreeting> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> flush;
+    private long sequence;
+
+    public GreetingChangePublisher(DataBroker db, RegistryLayout layout, NotificationPublishService publishService,
+            HelloMetrics metrics, int batchSize, long windowMillis) {
+        this.publishService = publishService;
+        this.metrics = metrics;
+        this.batchSize = batchSize;
+        this.windowMillis = windowMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("hello-change-notification-%d")
+                .setDaemon(true)
+                .build());
+        this.registration = db.registerDataTreeChangeListener(
+                new DataTreeIdentifier<>(LogicalDatastoreType.OPERATIONAL, layout.entriesPath()), this);
+    }
+
+    @Override
+    public void onDataTreeChanged(Collection<DataTreeModification<GreetingRegistryEntryFields>> changes) {
+        synchronized (this) {
+            for (DataTreeModification<GreetingRegistryEntryFields> change : changes) {
+                ChangedGreeting changed = toChangedGreeting(change.getRootNode());
+                if (changed == null) {
+                    continue;
+                }
+                pending.put(changed.getName(), changed);
+                if (pending.size() >= batchSize) {
+                    publish();
+                } else if (flush == null) {
+                    flush = executor.schedule(new Runnable() {
+                        @Override
+                        public void run() {
+                            flush();
+                        }
+                    }, windowMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+    }
+
+    private static ChangedGreeting toChangedGreeting(DataObjectModification<GreetingRegistryEntryFields> node) {
+        GreetingRegistryEntryFields after = node.getDataAfter();
+        GreetingRegistryEntryFields before = node.getDataBefore();
+        if (node.getModificationType() != DataObjectModification.ModificationType.DELETE && after != null) {
+            if (before != null && Objects.equals(before.getGreeting(), after.getGreeting())) {
+                // re-put by the ALWAYS write policy, nothing a consumer can see changed
+                return null;
+            }
+            return new ChangedGreetingBuilder()
+                    .setName(after.getName())
+                    .setGreeting(after.getGreeting())
+                    .setRemoved(false)
+                    .build();
+        }
+        if (before == null) {
+            return null;
+        }
+        return new ChangedGreetingBuilder()
+                .setName(before.getName())
+                .setRemoved(true)
+                .build();
+    }
+
+    synchronized void flush() {
+        flush = null;
+        if (!pending.isEmpty()) {
+            publish();
+        }
+    }
+
+    // called with the lock held, offering does not block
+    private void publish() {
+        if (flush != null) {
+            flush.cancel(false);
+            flush = null;
+        }
+        GreetingsChanged notification = new GreetingsChangedBuilder()
+                .setSequence(BigInteger.valueOf(++sequence))
+                .setChangedGreeting(new ArrayList<>(pending.values()))
+                .build();
+        pending = new LinkedHashMap<>();
+        metrics.changeNotificationPublished(
+                publishService.offerNotification(notification) != NotificationPublishService.REJECTED);
+    }
+
+    @Override
+    public void close() {
+        if (registration != null) {
+            registration.close();
+        }
+        executor.shutdownNow();
+        flush();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.hello.impl;
+
+import com.google.common.base.Optional;
+import com.google.common.io.BaseEncoding;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.DataObjectModification;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeChangeListener;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeIdentifier;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeModification;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.hello.RegistryLayout;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GetGreetingsOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GetGreetingsOutputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryEntryFields;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.get.greetings.output.Greetings;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.get.greetings.output.GreetingsBuilder;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+
+/**
+ * Sorted in-memory copy of the greetings of one datastore's greeting registry, serving get-greetings pages.
+ *
+ * <p>A data-tree change listener keeps the index in sync, starting with the initial content of the registry.
+ * Greetings are stored as the hello-world call would return them, so templates are rendered on change. Only the
+ * literal greetings programmed in CONFIGURATION are interned, since they are often shared between names, while
+ * rendered templates and the OPERATIONAL greetings are unique to their name. A page
+ * seeks to its first name and walks only the entries it returns, which makes its cost independent of the
+ * registry size. The continuation token encodes the last name of a page, so paging stays consistent while
+ * names are added and removed.
+ */
+public class GreetingIndex implements DataTreeChangeListener<GreetingRegistryEntryFields>, AutoCloseable {
+    private static final BaseEncoding TOKEN_ENCODING = BaseEncoding.base64Url().omitPadding();
+    private final ConcurrentSkipListMap<String, String> greetings = new ConcurrentSkipListMap<>();
+    private final ListenerRegistration<GreetingIndex> registration;
+    private final boolean programmed;
+
+    public GreetingIndex(DataBroker db, RegistryLayout layout, LogicalDatastoreType datastore) {
+        this.programmed = datastore == LogicalDatastoreType.CONFIGURATION;
+        this.registration = db.registerDataTreeChangeListener(
+                new DataTreeIdentifier<>(datastore, layout.entriesPath()), this);
+    }
+
+    @Override
+    public void onDataTreeChanged(Collection<DataTreeModification<GreetingRegistryEntryFields>> changes) {
+        for (DataTreeModification<GreetingRegistryEntryFields> change : changes) {
+            DataObjectModification<GreetingRegistryEntryFields> node = change.getRootNode();
+            GreetingRegistryEntryFields after = node.getDataAfter();
+            if (node.getModificationType() != DataObjectModification.ModificationType.DELETE && after != null) {
+                CompiledGreeting greeting = CompiledGreeting.of(Optional.of(after));
+                String rendered = greeting.render(after.getName());
+                greetings.put(after.getName(),
+                        programmed && !greeting.containsName() ? CompiledGreeting.intern(rendered) : rendered);
+            } else if (node.getDataBefore() != null) {
+                greetings.remove(node.getDataBefore().getName());
+            }
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} greetings of names starting with {@code prefix}, following the page of
+     * {@code continuationToken} or from the first such name if it is null.
+     *
+     * @throws IllegalArgumentException if the continuation token was not issued by this index
+     */
+    public GetGreetingsOutput page(String prefix, String continuationToken, int limit) {
+        String from = prefix == null ? "" : prefix;
+        Map<String, String> tail = continuationToken == null
+                ? greetings.tailMap(from, true)
+                : greetings.tailMap(decode(continuationToken), false);
+        List<Greetings> page = new ArrayList<>(Math.min(limit, 64));
+        String token = null;
+        Iterator<Map.Entry<String, String>> it = tail.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, String> entry = it.next();
+            if (!entry.getKey().startsWith(from)) {
+                break;
+            }
+            if (page.size() == limit) {
+                token = encode(page.get(page.size() - 1).getName());
+                break;
+            }
+            page.add(new GreetingsBuilder()
+                    .setName(entry.getKey())
+                    .setGreeting(entry.getValue())
+                    .build());
+        }
+        return new GetGreetingsOutputBuilder()
+                .setGreetings(page)
+                .setContinuationToken(token)
+                .build();
+    }
+
+    public int size() {
+        return greetings.size();
+    }
+
+    private static String encode(String name) {
+        return TOKEN_ENCODING.encode(name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String token) {
+        // BaseEncoding throws IllegalArgumentException for malformed input
+        return new String(TOKEN_ENCODING.decode(token), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        if (registration != null) {
+            registration.close();
+        }
+    }
+}
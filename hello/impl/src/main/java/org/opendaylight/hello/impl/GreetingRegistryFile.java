@@ -0,0 +1,231 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.hello.impl;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryEntryFields;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingTemplate;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntryBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.entry.fields.TemplateVariable;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.entry.fields.TemplateVariableBuilder;
+
+/**
+ * Compact binary file format of greeting-registry entries, used by bulk export and import.
+ *
+ * <p>A file starts with a 4 byte magic, followed by the entries until its end. Every string is a
+ * variable-length integer byte count followed by the UTF-8 bytes. Optional strings store the count plus one,
+ * so that 0 marks an absent value. An entry is its name, optional greeting, optional template, the number of
+ * template variables and each variable's name and optional value.
+ *
+ * <p>The {@link Writer} streams through a reused direct buffer into a {@link FileChannel}, the {@link Reader}
+ * decodes a memory-mapped file without copying it onto the heap.
+ */
+final class GreetingRegistryFile {
+    private static final int MAGIC = 0x48475231; // "HGR1"
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private GreetingRegistryFile() {
+    }
+
+    static final class Writer implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private int entries;
+
+        Writer(Path file) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            buffer.putInt(MAGIC);
+        }
+
+        void write(GreetingRegistryEntryFields entry) throws IOException {
+            putString(entry.getName());
+            putOptionalString(entry.getGreeting());
+            putOptionalString(entry.getGreetingTemplate() == null ? null : entry.getGreetingTemplate().getValue());
+            List<TemplateVariable> variables = entry.getTemplateVariable();
+            putVarint(variables == null ? 0 : variables.size());
+            if (variables != null) {
+                for (TemplateVariable variable : variables) {
+                    putString(variable.getName());
+                    putOptionalString(variable.getValue());
+                }
+            }
+            entries++;
+        }
+
+        int getEntries() {
+            return entries;
+        }
+
+        private void putString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putVarint(bytes.length);
+            putBytes(bytes);
+        }
+
+        private void putOptionalString(String value) throws IOException {
+            if (value == null) {
+                putVarint(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putVarint(bytes.length + 1);
+            putBytes(bytes);
+        }
+
+        private void putVarint(int value) throws IOException {
+            if (buffer.remaining() < 5) {
+                drain();
+            }
+            int v = value;
+            while ((v & ~0x7F) != 0) {
+                buffer.put((byte) (v & 0x7F | 0x80));
+                v >>>= 7;
+            }
+            buffer.put((byte) v);
+        }
+
+        private void putBytes(byte[] bytes) throws IOException {
+            if (bytes.length > buffer.remaining()) {
+                drain();
+                if (bytes.length > buffer.remaining()) {
+                    // larger than the whole buffer, hand it to the channel directly
+                    ByteBuffer wrapped = ByteBuffer.wrap(bytes);
+                    while (wrapped.hasRemaining()) {
+                        channel.write(wrapped);
+                    }
+                    return;
+                }
+            }
+            buffer.put(bytes);
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                drain();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    static final class Reader implements AutoCloseable {
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+
+        /**
+         * @throws IOException if the file cannot be mapped or is not a greeting-registry file
+         */
+        Reader(Path file) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            try {
+                if (channel.size() > Integer.MAX_VALUE) {
+                    throw new IOException("File " + file + " is too large to be mapped");
+                }
+                this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (buffer.remaining() < 4 || buffer.getInt() != MAGIC) {
+                    throw new IOException("File " + file + " is not a greeting-registry file");
+                }
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        boolean hasNext() {
+            return buffer.hasRemaining();
+        }
+
+        /**
+         * @throws IOException if the file is truncated or corrupt
+         */
+        GreetingRegistryEntry next() throws IOException {
+            try {
+                GreetingRegistryEntryBuilder builder = new GreetingRegistryEntryBuilder()
+                        .setName(getString())
+                        .setGreeting(getOptionalString());
+                String template = getOptionalString();
+                if (template != null) {
+                    builder.setGreetingTemplate(new GreetingTemplate(template));
+                }
+                int count = getVarint();
+                if (count > 0) {
+                    List<TemplateVariable> variables = new ArrayList<>(Math.min(count, 16));
+                    for (int i = 0; i < count; i++) {
+                        variables.add(new TemplateVariableBuilder()
+                                .setName(getString())
+                                .setValue(getOptionalString())
+                                .build());
+                    }
+                    builder.setTemplateVariable(variables);
+                }
+                return builder.build();
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                throw new IOException("Corrupt greeting-registry file at offset " + buffer.position(), e);
+            }
+        }
+
+        private String getString() throws IOException {
+            return getBytes(getVarint());
+        }
+
+        private String getOptionalString() throws IOException {
+            int length = getVarint();
+            return length == 0 ? null : getBytes(length - 1);
+        }
+
+        private String getBytes(int length) throws IOException {
+            if (length > buffer.remaining()) {
+                throw new IOException("Truncated greeting-registry file at offset " + buffer.position());
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private int getVarint() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                byte b = buffer.get();
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    if (value < 0) {
+                        break;
+                    }
+                    return value;
+                }
+            }
+            throw new IOException("Malformed length at offset " + buffer.position());
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
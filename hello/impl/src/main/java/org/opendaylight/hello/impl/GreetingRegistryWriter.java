@@ -0,0 +1,287 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.hello.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntry;
+
+/**
+ * Writes greetings to the OPERATIONAL greeting-registry according to a {@link WritePolicy}.
+ *
+ * <p>With {@link WritePolicy#BATCHED} pending writes are collected in a map keyed by name, so repeated
+ * writes of one name collapse into the latest value, and the whole map is submitted as a single
+ * transaction per transaction chain stripe once the batch interval passes or the batch size is reached.
+ *
+ * <p>Every submission is numbered, and the highest number is kept for each name. A submission only writes the
+ * names no higher number was kept for by the time it holds its stripe, so neither a late retry nor a submission
+ * overtaken by a newer one can overwrite a newer greeting.
+ */
+public class GreetingRegistryWriter implements AutoCloseable {
+    private static final long MAX_TRACKED_NAMES = 100000;
+    private final TransactionChainPool chains;
+    private final RetryPolicy retries;
+    private final HelloMetrics metrics;
+    private final CommitOutcomeReporter reporter;
+    private final RegistrySweeper sweeper;
+    private final Executor callbacks;
+    private final WritePolicy policy;
+    private final int batchSize;
+    private final Cache<String, Written> lastWritten;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentMap<String, GreetingRegistryEntry> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService executor;
+    private final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            flushScheduled.set(false);
+            flush();
+        }
+    };
+
+    public GreetingRegistryWriter(TransactionChainPool chains, RetryPolicy retries, HelloMetrics metrics,
+            CommitOutcomeReporter reporter, RegistrySweeper sweeper, Executor callbacks, WritePolicy policy,
+            long batchIntervalMillis, int batchSize) {
+        this.chains = chains;
+        this.retries = retries;
+        this.metrics = metrics;
+        this.reporter = reporter;
+        this.sweeper = sweeper;
+        this.callbacks = callbacks;
+        this.policy = policy;
+        this.batchSize = batchSize;
+        this.lastWritten = CacheBuilder.newBuilder()
+                .maximumSize(MAX_TRACKED_NAMES)
+                .build();
+        if (policy == WritePolicy.BATCHED) {
+            this.executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat("hello-write-behind-%d")
+                    .setDaemon(true)
+                    .build());
+            executor.scheduleWithFixedDelay(flushTask, batchIntervalMillis, batchIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.executor = null;
+        }
+    }
+
+    public void write(GreetingRegistryEntry entry) {
+        switch (policy) {
+            case ALWAYS:
+            case ON_CHANGE:
+                if (needsWrite(entry)) {
+                    submit(chains.stripeOf(entry.getName()), Collections.singletonList(entry));
+                }
+                break;
+            case BATCHED:
+                if (needsWrite(entry)) {
+                    pending.put(entry.getName(), entry);
+                    if (pending.size() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+                        executor.execute(flushTask);
+                    }
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unhandled write policy " + policy);
+        }
+    }
+
+    /**
+     * Writes several greetings at once. Apart from the batched policy, which coalesces them with all other
+     * pending writes, the greetings are submitted in one transaction per transaction chain stripe.
+     */
+    public void writeAll(Collection<GreetingRegistryEntry> entries) {
+        if (policy == WritePolicy.BATCHED) {
+            for (GreetingRegistryEntry entry : entries) {
+                write(entry);
+            }
+            return;
+        }
+        List<List<GreetingRegistryEntry>> batches = newStripeBatches();
+        for (GreetingRegistryEntry entry : entries) {
+            if (needsWrite(entry)) {
+                batches.get(chains.stripeOf(entry.getName())).add(entry);
+            }
+        }
+        submitAll(batches);
+    }
+
+    private boolean needsWrite(GreetingRegistryEntry entry) {
+        // the sweeper may have removed the entry, in which case it has to be written again even if unchanged
+        boolean tracked = sweeper.touch(entry.getName());
+        return policy == WritePolicy.ALWAYS || !tracked || !isUnchanged(entry);
+    }
+
+    private boolean isUnchanged(GreetingRegistryEntry entry) {
+        Written written = lastWritten.getIfPresent(entry.getName());
+        return entry.getGreeting() != null && written != null && entry.getGreeting().equals(written.greeting);
+    }
+
+    private void flush() {
+        List<List<GreetingRegistryEntry>> batches = newStripeBatches();
+        for (Map.Entry<String, GreetingRegistryEntry> e : pending.entrySet()) {
+            if (pending.remove(e.getKey(), e.getValue())) {
+                batches.get(chains.stripeOf(e.getKey())).add(e.getValue());
+            }
+        }
+        submitAll(batches);
+    }
+
+    // one transaction per stripe keeps every name on the chain its single writes use
+    private List<List<GreetingRegistryEntry>> newStripeBatches() {
+        List<List<GreetingRegistryEntry>> batches = new ArrayList<>(chains.size());
+        for (int i = 0; i < chains.size(); i++) {
+            batches.add(new ArrayList<GreetingRegistryEntry>());
+        }
+        return batches;
+    }
+
+    private void submitAll(List<List<GreetingRegistryEntry>> batches) {
+        for (int i = 0; i < batches.size(); i++) {
+            if (!batches.get(i).isEmpty()) {
+                submit(i, batches.get(i));
+            }
+        }
+    }
+
+    private void submit(int stripe, List<GreetingRegistryEntry> entries) {
+        long number = sequence.incrementAndGet();
+        for (GreetingRegistryEntry entry : entries) {
+            // concurrent submissions of a name may get here out of order, the higher number has to stay
+            lastWritten.asMap().merge(entry.getName(), new Written(entry.getGreeting(), number), Written::latest);
+        }
+        submit(stripe, entries, number, 0);
+    }
+
+    private void submit(final int stripe, List<GreetingRegistryEntry> entries, final long number,
+            final int attempt) {
+        final List<GreetingRegistryEntry> current = attempt == 0 ? entries : unsuperseded(entries, number);
+        if (current.isEmpty()) {
+            // every name of the failed submission was written again since
+            return;
+        }
+        final long startNanos = System.nanoTime();
+        CheckedFuture<Void, TransactionCommitFailedException> future;
+        try {
+            future = chains.submit(stripe, transaction -> {
+                // checked under the stripe lock, so a newer write of a name is either seen here or submitted after
+                for (GreetingRegistryEntry entry : unsuperseded(current, number)) {
+                    chains.layout().put(transaction, LogicalDatastoreType.OPERATIONAL, entry);
+                }
+            });
+        } catch (IllegalStateException e) {
+            // the chain failed and has not been replaced yet
+            onSubmitFailed(stripe, current, number, attempt, e);
+            return;
+        }
+        Futures.addCallback(future, new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(Void result) {
+                metrics.operationalCommitCompleted(startNanos);
+                reporter.commitSucceeded();
+                if (attempt > 0) {
+                    remember(current, number);
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                onSubmitFailed(stripe, current, number, attempt, t);
+            }
+        }, callbacks);
+    }
+
+    // the entries no later submission wrote again
+    private List<GreetingRegistryEntry> unsuperseded(List<GreetingRegistryEntry> entries, long number) {
+        List<GreetingRegistryEntry> latest = new ArrayList<>(entries.size());
+        for (GreetingRegistryEntry entry : entries) {
+            Written written = lastWritten.getIfPresent(entry.getName());
+            // an untracked name has no newer write either
+            if (written == null || written.number == number) {
+                latest.add(entry);
+            }
+        }
+        return latest;
+    }
+
+    private void onSubmitFailed(final int stripe, final List<GreetingRegistryEntry> entries, final long number,
+            final int attempt, Throwable cause) {
+        // forget what we claimed to have written so that the next call writes it again, even while retrying
+        for (GreetingRegistryEntry entry : entries) {
+            Written written = lastWritten.getIfPresent(entry.getName());
+            if (written != null && written.number == number && written.greeting != null) {
+                lastWritten.asMap().replace(entry.getName(), written, new Written(null, number));
+            }
+        }
+        boolean retrying = retries.retry(attempt, new Runnable() {
+            @Override
+            public void run() {
+                submit(stripe, entries, number, attempt + 1);
+            }
+        });
+        reporter.commitFailed(cause, entries.size(), retrying);
+    }
+
+    // a retry committed, unchanged greetings can be skipped again
+    private void remember(List<GreetingRegistryEntry> entries, long number) {
+        for (GreetingRegistryEntry entry : entries) {
+            Written written = lastWritten.getIfPresent(entry.getName());
+            if (written != null && written.number == number && written.greeting == null) {
+                lastWritten.asMap().replace(entry.getName(), written, new Written(entry.getGreeting(), number));
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            flush();
+        }
+    }
+
+    // the greeting last submitted for a name, and the number of its submission; equal only to itself
+    private static final class Written {
+        private final String greeting;
+        private final long number;
+
+        Written(String greeting, long number) {
+            this.greeting = greeting;
+            this.number = number;
+        }
+
+        static Written latest(Written first, Written second) {
+            return first.number > second.number ? first : second;
+        }
+    }
+}
@@ -0,0 +1,445 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.hello.impl;
+
+/**
+ * Immutable runtime settings of {@link HelloWorldImpl}, populated from the hello-impl module configuration.
+ */
+public final class HelloConfig {
+    private final long greetingCacheSize;
+    private final WritePolicy writePolicy;
+    private final long writeBatchIntervalMillis;
+    private final int writeBatchSize;
+    private final int transactionChains;
+    private final int maxRetries;
+    private final long retryInitialBackoffMillis;
+    private final int maxInFlightRpcs;
+    private final int maxQueuedRpcs;
+    private final int maxBatchNames;
+    private final long commitReportIntervalSeconds;
+    private final int commitFailureDetailLimit;
+    private final int operationalRegistryMaxEntries;
+    private final long operationalEntryTtlSeconds;
+    private final long registrySweepIntervalSeconds;
+    private final int registrySweepBatchSize;
+    private final int registryShards;
+    private final int changeNotificationBatchSize;
+    private final long changeNotificationWindowMillis;
+    private final int getGreetingsMaxPageSize;
+    private final int callbackExecutorThreads;
+    private final int callbackExecutorQueueSize;
+    private final String callbackExecutorThreadPrefix;
+    private final String bulkFileDirectory;
+    private final int bulkImportChunkSize;
+    private final boolean coalesceCalls;
+    private final long coalescingWindowMillis;
+    private final long defaultDeadlineMillis;
+    private final boolean deadlineFallback;
+    private final long slowRequestThresholdMillis;
+    private final boolean lazyActivation;
+    private final int hotNameCount;
+    private final long hotNameDecaySeconds;
+    private final long hotNameMinRate;
+    private final int hotNameSampling;
+
+    private HelloConfig(Builder builder) {
+        this.greetingCacheSize = builder.greetingCacheSize;
+        this.writePolicy = builder.writePolicy;
+        this.writeBatchIntervalMillis = builder.writeBatchIntervalMillis;
+        this.writeBatchSize = builder.writeBatchSize;
+        this.transactionChains = builder.transactionChains;
+        this.maxRetries = builder.maxRetries;
+        this.retryInitialBackoffMillis = builder.retryInitialBackoffMillis;
+        this.maxInFlightRpcs = builder.maxInFlightRpcs;
+        this.maxQueuedRpcs = builder.maxQueuedRpcs;
+        this.maxBatchNames = builder.maxBatchNames;
+        this.commitReportIntervalSeconds = builder.commitReportIntervalSeconds;
+        this.commitFailureDetailLimit = builder.commitFailureDetailLimit;
+        this.operationalRegistryMaxEntries = builder.operationalRegistryMaxEntries;
+        this.operationalEntryTtlSeconds = builder.operationalEntryTtlSeconds;
+        this.registrySweepIntervalSeconds = builder.registrySweepIntervalSeconds;
+        this.registrySweepBatchSize = builder.registrySweepBatchSize;
+        this.registryShards = builder.registryShards;
+        this.changeNotificationBatchSize = builder.changeNotificationBatchSize;
+        this.changeNotificationWindowMillis = builder.changeNotificationWindowMillis;
+        this.getGreetingsMaxPageSize = builder.getGreetingsMaxPageSize;
+        this.callbackExecutorThreads = builder.callbackExecutorThreads;
+        this.callbackExecutorQueueSize = builder.callbackExecutorQueueSize;
+        this.callbackExecutorThreadPrefix = builder.callbackExecutorThreadPrefix;
+        this.bulkFileDirectory = builder.bulkFileDirectory;
+        this.bulkImportChunkSize = builder.bulkImportChunkSize;
+        this.coalesceCalls = builder.coalesceCalls;
+        this.coalescingWindowMillis = builder.coalescingWindowMillis;
+        this.defaultDeadlineMillis = builder.defaultDeadlineMillis;
+        this.deadlineFallback = builder.deadlineFallback;
+        this.slowRequestThresholdMillis = builder.slowRequestThresholdMillis;
+        this.lazyActivation = builder.lazyActivation;
+        this.hotNameCount = builder.hotNameCount;
+        this.hotNameDecaySeconds = builder.hotNameDecaySeconds;
+        this.hotNameMinRate = builder.hotNameMinRate;
+        this.hotNameSampling = builder.hotNameSampling;
+    }
+
+    public long getGreetingCacheSize() {
+        return greetingCacheSize;
+    }
+
+    public WritePolicy getWritePolicy() {
+        return writePolicy;
+    }
+
+    public long getWriteBatchIntervalMillis() {
+        return writeBatchIntervalMillis;
+    }
+
+    public int getWriteBatchSize() {
+        return writeBatchSize;
+    }
+
+    public int getTransactionChains() {
+        return transactionChains;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public long getRetryInitialBackoffMillis() {
+        return retryInitialBackoffMillis;
+    }
+
+    public int getMaxInFlightRpcs() {
+        return maxInFlightRpcs;
+    }
+
+    public int getMaxQueuedRpcs() {
+        return maxQueuedRpcs;
+    }
+
+    public int getMaxBatchNames() {
+        return maxBatchNames;
+    }
+
+    public long getCommitReportIntervalSeconds() {
+        return commitReportIntervalSeconds;
+    }
+
+    public int getCommitFailureDetailLimit() {
+        return commitFailureDetailLimit;
+    }
+
+    public int getOperationalRegistryMaxEntries() {
+        return operationalRegistryMaxEntries;
+    }
+
+    public long getOperationalEntryTtlSeconds() {
+        return operationalEntryTtlSeconds;
+    }
+
+    public long getRegistrySweepIntervalSeconds() {
+        return registrySweepIntervalSeconds;
+    }
+
+    public int getRegistrySweepBatchSize() {
+        return registrySweepBatchSize;
+    }
+
+    public int getRegistryShards() {
+        return registryShards;
+    }
+
+    public int getChangeNotificationBatchSize() {
+        return changeNotificationBatchSize;
+    }
+
+    public long getChangeNotificationWindowMillis() {
+        return changeNotificationWindowMillis;
+    }
+
+    public int getGetGreetingsMaxPageSize() {
+        return getGreetingsMaxPageSize;
+    }
+
+    public int getCallbackExecutorThreads() {
+        return callbackExecutorThreads;
+    }
+
+    public int getCallbackExecutorQueueSize() {
+        return callbackExecutorQueueSize;
+    }
+
+    public String getCallbackExecutorThreadPrefix() {
+        return callbackExecutorThreadPrefix;
+    }
+
+    public String getBulkFileDirectory() {
+        return bulkFileDirectory;
+    }
+
+    public int getBulkImportChunkSize() {
+        return bulkImportChunkSize;
+    }
+
+    public boolean isCoalesceCalls() {
+        return coalesceCalls;
+    }
+
+    public long getCoalescingWindowMillis() {
+        return coalescingWindowMillis;
+    }
+
+    public long getDefaultDeadlineMillis() {
+        return defaultDeadlineMillis;
+    }
+
+    public boolean isDeadlineFallback() {
+        return deadlineFallback;
+    }
+
+    public long getSlowRequestThresholdMillis() {
+        return slowRequestThresholdMillis;
+    }
+
+    public boolean isLazyActivation() {
+        return lazyActivation;
+    }
+
+    public int getHotNameCount() {
+        return hotNameCount;
+    }
+
+    public long getHotNameDecaySeconds() {
+        return hotNameDecaySeconds;
+    }
+
+    public long getHotNameMinRate() {
+        return hotNameMinRate;
+    }
+
+    public int getHotNameSampling() {
+        return hotNameSampling;
+    }
+
+    public static class Builder {
+        private long greetingCacheSize = 10000;
+        private WritePolicy writePolicy = WritePolicy.ALWAYS;
+        private long writeBatchIntervalMillis = 10;
+        private int writeBatchSize = 500;
+        private int transactionChains = 4;
+        private int maxRetries = 5;
+        private long retryInitialBackoffMillis = 10;
+        private int maxInFlightRpcs = 1000;
+        private int maxQueuedRpcs = 1000;
+        private int maxBatchNames = 1000;
+        private long commitReportIntervalSeconds = 60;
+        private int commitFailureDetailLimit = 3;
+        private int operationalRegistryMaxEntries = 100000;
+        private long operationalEntryTtlSeconds = 86400;
+        private long registrySweepIntervalSeconds = 60;
+        private int registrySweepBatchSize = 500;
+        private int registryShards = 0;
+        private int changeNotificationBatchSize = 1000;
+        private long changeNotificationWindowMillis = 100;
+        private int getGreetingsMaxPageSize = 1000;
+        private int callbackExecutorThreads = 4;
+        private int callbackExecutorQueueSize = 10000;
+        private String callbackExecutorThreadPrefix = "hello-callback";
+        private String bulkFileDirectory = "data/hello";
+        private int bulkImportChunkSize = 10000;
+        private boolean coalesceCalls = true;
+        private long coalescingWindowMillis = 0;
+        private long defaultDeadlineMillis = 10000;
+        private boolean deadlineFallback = false;
+        private long slowRequestThresholdMillis = 1000;
+        private boolean lazyActivation = false;
+        private int hotNameCount = 0;
+        private long hotNameDecaySeconds = 10;
+        private long hotNameMinRate = 1;
+        private int hotNameSampling = 16;
+
+        public Builder setGreetingCacheSize(long greetingCacheSize) {
+            this.greetingCacheSize = greetingCacheSize;
+            return this;
+        }
+
+        public Builder setWritePolicy(WritePolicy writePolicy) {
+            this.writePolicy = writePolicy;
+            return this;
+        }
+
+        public Builder setWriteBatchIntervalMillis(long writeBatchIntervalMillis) {
+            this.writeBatchIntervalMillis = writeBatchIntervalMillis;
+            return this;
+        }
+
+        public Builder setWriteBatchSize(int writeBatchSize) {
+            this.writeBatchSize = writeBatchSize;
+            return this;
+        }
+
+        public Builder setTransactionChains(int transactionChains) {
+            this.transactionChains = transactionChains;
+            return this;
+        }
+
+        public Builder setMaxRetries(int maxRetries) {
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        public Builder setRetryInitialBackoffMillis(long retryInitialBackoffMillis) {
+            this.retryInitialBackoffMillis = retryInitialBackoffMillis;
+            return this;
+        }
+
+        public Builder setMaxInFlightRpcs(int maxInFlightRpcs) {
+            this.maxInFlightRpcs = maxInFlightRpcs;
+            return this;
+        }
+
+        public Builder setMaxQueuedRpcs(int maxQueuedRpcs) {
+            this.maxQueuedRpcs = maxQueuedRpcs;
+            return this;
+        }
+
+        public Builder setMaxBatchNames(int maxBatchNames) {
+            this.maxBatchNames = maxBatchNames;
+            return this;
+        }
+
+        public Builder setCommitReportIntervalSeconds(long commitReportIntervalSeconds) {
+            this.commitReportIntervalSeconds = commitReportIntervalSeconds;
+            return this;
+        }
+
+        public Builder setCommitFailureDetailLimit(int commitFailureDetailLimit) {
+            this.commitFailureDetailLimit = commitFailureDetailLimit;
+            return this;
+        }
+
+        public Builder setOperationalRegistryMaxEntries(int operationalRegistryMaxEntries) {
+            this.operationalRegistryMaxEntries = operationalRegistryMaxEntries;
+            return this;
+        }
+
+        public Builder setOperationalEntryTtlSeconds(long operationalEntryTtlSeconds) {
+            this.operationalEntryTtlSeconds = operationalEntryTtlSeconds;
+            return this;
+        }
+
+        public Builder setRegistrySweepIntervalSeconds(long registrySweepIntervalSeconds) {
+            this.registrySweepIntervalSeconds = registrySweepIntervalSeconds;
+            return this;
+        }
+
+        public Builder setRegistrySweepBatchSize(int registrySweepBatchSize) {
+            this.registrySweepBatchSize = registrySweepBatchSize;
+            return this;
+        }
+
+        public Builder setRegistryShards(int registryShards) {
+            this.registryShards = registryShards;
+            return this;
+        }
+
+        public Builder setChangeNotificationBatchSize(int changeNotificationBatchSize) {
+            this.changeNotificationBatchSize = changeNotificationBatchSize;
+            return this;
+        }
+
+        public Builder setChangeNotificationWindowMillis(long changeNotificationWindowMillis) {
+            this.changeNotificationWindowMillis = changeNotificationWindowMillis;
+            return this;
+        }
+
+        public Builder setGetGreetingsMaxPageSize(int getGreetingsMaxPageSize) {
+            this.getGreetingsMaxPageSize = getGreetingsMaxPageSize;
+            return this;
+        }
+
+        public Builder setCallbackExecutorThreads(int callbackExecutorThreads) {
+            this.callbackExecutorThreads = callbackExecutorThreads;
+            return this;
+        }
+
+        public Builder setCallbackExecutorQueueSize(int callbackExecutorQueueSize) {
+            this.callbackExecutorQueueSize = callbackExecutorQueueSize;
+            return this;
+        }
+
+        public Builder setCallbackExecutorThreadPrefix(String callbackExecutorThreadPrefix) {
+            this.callbackExecutorThreadPrefix = callbackExecutorThreadPrefix;
+            return this;
+        }
+
+        public Builder setBulkFileDirectory(String bulkFileDirectory) {
+            this.bulkFileDirectory = bulkFileDirectory;
+            return this;
+        }
+
+        public Builder setBulkImportChunkSize(int bulkImportChunkSize) {
+            this.bulkImportChunkSize = bulkImportChunkSize;
+            return this;
+        }
+
+        public Builder setCoalesceCalls(boolean coalesceCalls) {
+            this.coalesceCalls = coalesceCalls;
+            return this;
+        }
+
+        public Builder setCoalescingWindowMillis(long coalescingWindowMillis) {
+            this.coalescingWindowMillis = coalescingWindowMillis;
+            return this;
+        }
+
+        public Builder setDefaultDeadlineMillis(long defaultDeadlineMillis) {
+            this.defaultDeadlineMillis = defaultDeadlineMillis;
+            return this;
+        }
+
+        public Builder setDeadlineFallback(boolean deadlineFallback) {
+            this.deadlineFallback = deadlineFallback;
+            return this;
+        }
+
+        public Builder setSlowRequestThresholdMillis(long slowRequestThresholdMillis) {
+            this.slowRequestThresholdMillis = slowRequestThresholdMillis;
+            return this;
+        }
+
+        public Builder setLazyActivation(boolean lazyActivation) {
+            this.lazyActivation = lazyActivation;
+            return this;
+        }
+
+        public Builder setHotNameCount(int hotNameCount) {
+            this.hotNameCount = hotNameCount;
+            return this;
+        }
+
+        public Builder setHotNameDecaySeconds(long hotNameDecaySeconds) {
+            this.hotNameDecaySeconds = hotNameDecaySeconds;
+            return this;
+        }
+
+        public Builder setHotNameMinRate(long hotNameMinRate) {
+            this.hotNameMinRate = hotNameMinRate;
+            return this;
+        }
+
+        public Builder setHotNameSampling(int hotNameSampling) {
+            this.hotNameSampling = hotNameSampling;
+            return this;
+        }
+
+        public HelloConfig build() {
+            return new HelloConfig(this);
+        }
+    }
+}
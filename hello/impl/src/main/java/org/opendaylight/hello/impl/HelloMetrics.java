@@ -0,0 +1,303 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.hello.impl;
+
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.impl.rev141210.HelloRuntimeMXBean;
+
+/**
+ * Runtime metrics of the hello service, exposed as the module's runtime bean.
+ *
+ * <p>Recording only touches {@link LongAdder}s and {@link LatencyHistogram}s, so it neither allocates
+ * nor makes concurrent calls contend; the work of aggregating happens when JMX reads an attribute.
+ */
+public class HelloMetrics implements HelloRuntimeMXBean {
+    private static final double P50 = 0.5;
+    private static final double P99 = 0.99;
+    private static final double P999 = 0.999;
+    private final LatencyHistogram configReadLatency = new LatencyHistogram();
+    private final LatencyHistogram operationalCommitLatency = new LatencyHistogram();
+    private final LatencyHistogram rpcLatency = new LatencyHistogram();
+    private final LongAdder rpcSuccesses = new LongAdder();
+    private final LongAdder rpcFailures = new LongAdder();
+    private final LongAdder chainRestarts = new LongAdder();
+    private final LongAdder inFlightFutures = new LongAdder();
+    private final LongAdder queuedRpcs = new LongAdder();
+    private final LongAdder rejectedRpcs = new LongAdder();
+    private final LongAdder collapsedRpcs = new LongAdder();
+    private final LongAdder expiredRpcs = new LongAdder();
+    private final LongAdder fallbackRpcs = new LongAdder();
+    private final LongAdder slowRpcs = new LongAdder();
+    private final LongAdder registryExpiredEvictions = new LongAdder();
+    private final LongAdder registrySizeEvictions = new LongAdder();
+    private final LongAdder changeNotificationsPublished = new LongAdder();
+    private final LongAdder callbackQueueDepth = new LongAdder();
+    private final LongAdder callbackCallerRuns = new LongAdder();
+    private final LongAdder changeNotificationsRejected = new LongAdder();
+    private volatile long registryEntries;
+    private volatile long reverseIndexGreetings;
+    private volatile long reverseIndexNames;
+    private volatile long reverseIndexEstimatedBytes;
+    private volatile List<String> hotNames = Collections.emptyList();
+
+    public void configReadCompleted(long startNanos) {
+        configReadLatency.record(System.nanoTime() - startNanos);
+    }
+
+    public void operationalCommitCompleted(long startNanos) {
+        operationalCommitLatency.record(System.nanoTime() - startNanos);
+    }
+
+    public void rpcStarted() {
+        inFlightFutures.increment();
+    }
+
+    public void rpcCompleted(long startNanos, boolean successful) {
+        rpcLatency.record(System.nanoTime() - startNanos);
+        inFlightFutures.decrement();
+        if (successful) {
+            rpcSuccesses.increment();
+        } else {
+            rpcFailures.increment();
+        }
+    }
+
+    public void rpcQueued() {
+        queuedRpcs.increment();
+    }
+
+    public void rpcDequeued() {
+        queuedRpcs.decrement();
+    }
+
+    public void rpcRejected() {
+        rejectedRpcs.increment();
+    }
+
+    public void rpcCollapsed() {
+        collapsedRpcs.increment();
+    }
+
+    public void rpcExpired(boolean fallback) {
+        expiredRpcs.increment();
+        if (fallback) {
+            fallbackRpcs.increment();
+        }
+    }
+
+    public void rpcSlow() {
+        slowRpcs.increment();
+    }
+
+    /**
+     * Records the outcome of a registry sweep, with the number of entries that remain tracked.
+     */
+    public void registryEntriesEvicted(int expired, int surplus, int remaining) {
+        registryExpiredEvictions.add(expired);
+        registrySizeEvictions.add(surplus);
+        registryEntries = remaining;
+    }
+
+    public void changeNotificationPublished(boolean accepted) {
+        if (accepted) {
+            changeNotificationsPublished.increment();
+        } else {
+            changeNotificationsRejected.increment();
+        }
+    }
+
+    /**
+     * Records the size of the greeting-to-names index after an update.
+     */
+    public void reverseIndexUpdated(int greetings, int names, long estimatedBytes) {
+        reverseIndexGreetings = greetings;
+        reverseIndexNames = names;
+        reverseIndexEstimatedBytes = estimatedBytes;
+    }
+
+    /**
+     * Records the names called most often, hottest first, as name=calls per second.
+     */
+    public void hotNamesRanked(List<String> ranking) {
+        hotNames = ranking;
+    }
+
+    public void callbackQueued() {
+        callbackQueueDepth.increment();
+    }
+
+    public void callbackDequeued() {
+        callbackQueueDepth.decrement();
+    }
+
+    public void callbackRanOnCaller() {
+        callbackCallerRuns.increment();
+    }
+
+    public void chainRestarted() {
+        chainRestarts.increment();
+    }
+
+    public long getChainRestartCount() {
+        return chainRestarts.sum();
+    }
+
+    @Override
+    public Long getConfigReadLatencyP50Micros() {
+        return configReadLatency.percentileMicros(P50);
+    }
+
+    @Override
+    public Long getConfigReadLatencyP99Micros() {
+        return configReadLatency.percentileMicros(P99);
+    }
+
+    @Override
+    public Long getConfigReadLatencyP999Micros() {
+        return configReadLatency.percentileMicros(P999);
+    }
+
+    @Override
+    public Long getOperationalCommitLatencyP50Micros() {
+        return operationalCommitLatency.percentileMicros(P50);
+    }
+
+    @Override
+    public Long getOperationalCommitLatencyP99Micros() {
+        return operationalCommitLatency.percentileMicros(P99);
+    }
+
+    @Override
+    public Long getOperationalCommitLatencyP999Micros() {
+        return operationalCommitLatency.percentileMicros(P999);
+    }
+
+    @Override
+    public Long getRpcLatencyP50Micros() {
+        return rpcLatency.percentileMicros(P50);
+    }
+
+    @Override
+    public Long getRpcLatencyP99Micros() {
+        return rpcLatency.percentileMicros(P99);
+    }
+
+    @Override
+    public Long getRpcLatencyP999Micros() {
+        return rpcLatency.percentileMicros(P999);
+    }
+
+    @Override
+    public BigInteger getRpcSuccesses() {
+        return BigInteger.valueOf(rpcSuccesses.sum());
+    }
+
+    @Override
+    public BigInteger getRpcFailures() {
+        return BigInteger.valueOf(rpcFailures.sum());
+    }
+
+    @Override
+    public BigInteger getChainRestarts() {
+        return BigInteger.valueOf(chainRestarts.sum());
+    }
+
+    @Override
+    public Long getInFlightFutures() {
+        return inFlightFutures.sum();
+    }
+
+    @Override
+    public Long getQueuedRpcs() {
+        return queuedRpcs.sum();
+    }
+
+    @Override
+    public BigInteger getRejectedRpcs() {
+        return BigInteger.valueOf(rejectedRpcs.sum());
+    }
+
+    @Override
+    public Long getOperationalRegistryEntries() {
+        return registryEntries;
+    }
+
+    @Override
+    public BigInteger getRegistryExpiredEvictions() {
+        return BigInteger.valueOf(registryExpiredEvictions.sum());
+    }
+
+    @Override
+    public BigInteger getRegistrySizeEvictions() {
+        return BigInteger.valueOf(registrySizeEvictions.sum());
+    }
+
+    @Override
+    public BigInteger getChangeNotificationsPublished() {
+        return BigInteger.valueOf(changeNotificationsPublished.sum());
+    }
+
+    @Override
+    public BigInteger getChangeNotificationsRejected() {
+        return BigInteger.valueOf(changeNotificationsRejected.sum());
+    }
+
+    @Override
+    public Long getReverseIndexGreetings() {
+        return reverseIndexGreetings;
+    }
+
+    @Override
+    public Long getReverseIndexNames() {
+        return reverseIndexNames;
+    }
+
+    @Override
+    public BigInteger getReverseIndexEstimatedBytes() {
+        return BigInteger.valueOf(reverseIndexEstimatedBytes);
+    }
+
+    @Override
+    public Long getCallbackQueueDepth() {
+        return callbackQueueDepth.sum();
+    }
+
+    @Override
+    public BigInteger getCallbackCallerRuns() {
+        return BigInteger.valueOf(callbackCallerRuns.sum());
+    }
+
+    @Override
+    public BigInteger getCollapsedRpcs() {
+        return BigInteger.valueOf(collapsedRpcs.sum());
+    }
+
+    @Override
+    public BigInteger getExpiredRpcs() {
+        return BigInteger.valueOf(expiredRpcs.sum());
+    }
+
+    @Override
+    public BigInteger getFallbackRpcs() {
+        return BigInteger.valueOf(fallbackRpcs.sum());
+    }
+
+    @Override
+    public BigInteger getSlowRpcs() {
+        return BigInteger.valueOf(slowRpcs.sum());
+    }
+
+    @Override
+    public List<String> getHotNames() {
+        return hotNames;
+    }
+}
@@ -7,23 +7,57 @@
  */
 package org.opendaylight.hello.impl;
 
+import com.google.common.base.Supplier;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.NotificationPublishService;
 import org.opendaylight.controller.sal.binding.api.BindingAwareBroker.ProviderContext;
 import org.opendaylight.controller.sal.binding.api.BindingAwareBroker.RpcRegistration;
 import org.opendaylight.controller.sal.binding.api.BindingAwareProvider;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev160218.HelloService;
+import org.opendaylight.hello.RegistryLayout;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.impl.rev141210.HelloRuntimeRegistration;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class HelloProvider implements BindingAwareProvider, AutoCloseable {
 
     private static final Logger LOG = LoggerFactory.getLogger(HelloProvider.class);
+    private final HelloConfig config;
+    private final HelloMetrics metrics;
     private RpcRegistration<HelloService> helloService;
+    private AutoCloseable helloWorld;
+    private HelloRuntimeRegistration runtimeRegistration;
+
+    public HelloProvider(HelloConfig config, HelloMetrics metrics) {
+        this.config = config;
+        this.metrics = metrics;
+    }
+
+    public void setRuntimeRegistration(HelloRuntimeRegistration runtimeRegistration) {
+        this.runtimeRegistration = runtimeRegistration;
+    }
 
     @Override
     public void onSessionInitiated(ProviderContext session) {
-        DataBroker db = session.getSALService(DataBroker.class);
-        helloService = session.addRpcImplementation(HelloService.class, new HelloWorldImpl(db));
+        final DataBroker db = session.getSALService(DataBroker.class);
+        final NotificationPublishService publishService = session.getSALService(NotificationPublishService.class);
+        if (publishService == null) {
+            LOG.warn("No notification publish service available, greetings-changed notifications are disabled");
+        }
+        if (config.isLazyActivation()) {
+            LazyHelloService lazy = new LazyHelloService(new Supplier<HelloWorldImpl>() {
+                @Override
+                public HelloWorldImpl get() {
+                    return new HelloWorldImpl(db, config, metrics, publishService);
+                }
+            }, db, RegistryLayout.of(config.getRegistryShards()));
+            helloWorld = lazy;
+            helloService = session.addRpcImplementation(HelloService.class, lazy);
+        } else {
+            HelloWorldImpl eager = new HelloWorldImpl(db, config, metrics, publishService);
+            helloWorld = eager;
+            helloService = session.addRpcImplementation(HelloService.class, eager);
+        }
         LOG.info("HelloProvider Session Initiated");
     }
 
@@ -31,6 +65,8 @@ public class HelloProvider implements BindingAwareProvider, AutoCloseable {
     public void close() throws Exception {
         LOG.info("HelloProvider Closed");
         if (helloService != null) helloService.close();
+        if (helloWorld != null) helloWorld.close();
+        if (runtimeRegistration != null) runtimeRegistration.close();
     }
 
 }
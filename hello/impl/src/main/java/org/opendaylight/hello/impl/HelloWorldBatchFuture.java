@@ -0,0 +1,296 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.hello.impl;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.AbstractFuture;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryEntryFields;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldBatchInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldBatchOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldBatchOutputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntryBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.hello.world.batch.output.Greetings;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.hello.world.batch.output.GreetingsBuilder;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.common.RpcError.ErrorType;
+import org.opendaylight.yangtools.yang.common.RpcResult;
+import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Resolves the greetings of many names with one CONFIGURATION read transaction and writes them back with
+ * one operational write per transaction chain stripe.
+ *
+ * <p>A name whose read fails is reported with an error message in the output, it does not fail the batch.
+ * The deadline covers the whole batch including the wait for admission; a batch exceeding it fails as a
+ * whole, as the names it did resolve are not worth a partial answer the client has to sort out.
+ */
+public class HelloWorldBatchFuture extends AbstractFuture<RpcResult<HelloWorldBatchOutput>> {
+    private static final Logger LOG = LoggerFactory.getLogger(HelloWorldBatchFuture.class);
+    // WAITING until admitted, then STARTED, or EXPIRED if the deadline passed first
+    private static final int WAITING = 0;
+    private static final int STARTED = 1;
+    private static final int EXPIRED = 2;
+    private final HelloWorldImpl service;
+    private final Set<String> names;
+    private final Long deadlineMillis;
+    private final Map<String, CompiledGreeting> resolved = new LinkedHashMap<>();
+    private int failedReads;
+    private final AtomicInteger phase = new AtomicInteger(WAITING);
+    private final Runnable startTask = new Runnable() {
+        @Override
+        public void run() {
+            start();
+        }
+    };
+    private volatile ScheduledFuture<?> deadline;
+    private volatile ReadOnlyTransaction pendingRead;
+
+    public HelloWorldBatchFuture(HelloWorldImpl service, HelloWorldBatchInput input) {
+        this.service = service;
+        // the output is keyed by name, so duplicate names are answered once
+        this.names = input.getNames() == null ? new LinkedHashSet<String>() : new LinkedHashSet<>(input.getNames());
+        this.deadlineMillis = input.getDeadlineMillis();
+    }
+
+    /**
+     * Returns the number of distinct names of the batch.
+     */
+    int size() {
+        return names.size();
+    }
+
+    /**
+     * Returns the task starting this call, to be queued by the {@link AdmissionController}.
+     */
+    Runnable startTask() {
+        return startTask;
+    }
+
+    /**
+     * Starts the deadline of the call, the one of its input or else the configured default.
+     */
+    void armDeadline() {
+        long millis = deadlineMillis != null ? deadlineMillis : service.defaultDeadlineMillis();
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            deadline = service.deadlines().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    expire();
+                }
+            }, millis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Service is closing, no deadline for a batch of {} names", names.size());
+        }
+    }
+
+    /**
+     * Starts the call once it was admitted by the {@link AdmissionController}.
+     */
+    void start() {
+        if (!phase.compareAndSet(WAITING, STARTED)) {
+            // expired while waiting, the slot is not needed anymore
+            service.admission().release();
+            return;
+        }
+        readFromGreetingRegistry();
+    }
+
+    /**
+     * Completes a call that the {@link AdmissionController} did not admit.
+     */
+    void reject() {
+        cancelDeadline();
+        this.set(HelloWorldImpl.<HelloWorldBatchOutput>overloaded());
+    }
+
+    private void expire() {
+        RpcResult<HelloWorldBatchOutput> result = RpcResultBuilder.<HelloWorldBatchOutput>failed().withError(
+                ErrorType.APPLICATION, "operation-failed", "Greetings of " + names.size()
+                        + " names not determined within the deadline").build();
+        if (phase.compareAndSet(WAITING, EXPIRED)) {
+            // never started, so it holds no slot; if it was dequeued meanwhile, start() returns the slot
+            service.admission().withdraw(startTask);
+            if (set(result)) {
+                service.metrics().rpcExpired(false);
+            }
+            return;
+        }
+        ReadOnlyTransaction transaction = pendingRead;
+        if (transaction != null) {
+            // frees the chain's read capacity, the reads completing late are ignored
+            transaction.close();
+        }
+        if (set(result)) {
+            service.metrics().rpcExpired(false);
+            service.admission().release();
+        }
+    }
+
+    private void cancelDeadline() {
+        ScheduledFuture<?> pending = deadline;
+        if (pending != null) {
+            pending.cancel(false);
+        }
+    }
+
+    private void readFromGreetingRegistry() {
+        if (isDone()) {
+            // expired while waiting for a retry
+            return;
+        }
+        final GreetingCache cache = service.cache();
+        final List<String> misses = new ArrayList<>();
+        for (String name : names) {
+            CompiledGreeting cached = cache.getIfPresent(name);
+            if (cached != null) {
+                resolved.put(name, cached);
+            } else {
+                misses.add(name);
+            }
+        }
+        if (misses.isEmpty()) {
+            complete(new LinkedHashMap<String, String>());
+            return;
+        }
+
+        final ReadOnlyTransaction transaction;
+        try {
+            TransactionChainPool chains = service.chains();
+            // the CONFIGURATION registry is never written through our chains, any stripe sees the same data
+            transaction = chains.newReadOnlyTransaction(chains.stripeOf(misses.get(0)));
+        } catch (IllegalStateException e) {
+            retryOrFail(misses, e);
+            return;
+        }
+        final long generation = cache.generation();
+        final long readStartNanos = System.nanoTime();
+        final List<CheckedFuture<Optional<GreetingRegistryEntryFields>, ReadFailedException>> reads =
+                new ArrayList<>(misses.size());
+        for (String name : misses) {
+            InstanceIdentifier<GreetingRegistryEntryFields> iid = service.chains().layout().entryPath(name);
+            reads.add(transaction.read(LogicalDatastoreType.CONFIGURATION, iid));
+        }
+        pendingRead = transaction;
+        ListenableFuture<List<Optional<GreetingRegistryEntryFields>>> all = Futures.successfulAsList(reads);
+        Futures.addCallback(all, new FutureCallback<List<Optional<GreetingRegistryEntryFields>>>() {
+            @Override
+            public void onSuccess(List<Optional<GreetingRegistryEntryFields>> result) {
+                pendingRead = null;
+                transaction.close();
+                if (isDone()) {
+                    // expired, the reads failed because the deadline closed their transaction
+                    return;
+                }
+                service.metrics().configReadCompleted(readStartNanos);
+                Map<String, String> errors = new LinkedHashMap<>();
+                for (int i = 0; i < misses.size(); i++) {
+                    String name = misses.get(i);
+                    try {
+                        CompiledGreeting greeting = CompiledGreeting.of(reads.get(i).get());
+                        cache.put(name, greeting, generation);
+                        resolved.put(name, greeting);
+                    } catch (InterruptedException | ExecutionException e) {
+                        LOG.debug("Failed to read greeting for {}", name, e);
+                        errors.put(name, "Failed to read greeting registry: " + e.getCause());
+                    }
+                }
+                complete(errors);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                // successfulAsList does not fail for failed inputs, only if it is cancelled
+                pendingRead = null;
+                transaction.close();
+                if (!isDone()) {
+                    retryOrFail(misses, t);
+                }
+            }
+        }, service.callbacks());
+    }
+
+    private void retryOrFail(List<String> misses, Throwable cause) {
+        boolean retrying = service.retries().retry(failedReads++, new Runnable() {
+            @Override
+            public void run() {
+                readFromGreetingRegistry();
+            }
+        });
+        if (retrying) {
+            LOG.debug("Retrying batch read of {} greetings after {} failed attempts", misses.size(), failedReads, cause);
+            return;
+        }
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (String name : misses) {
+            errors.put(name, "Failed to read greeting registry after " + failedReads + " attempts: " + cause);
+        }
+        complete(errors);
+    }
+
+    private void complete(Map<String, String> errors) {
+        if (isDone()) {
+            // already completed by the deadline, which returned the slot
+            return;
+        }
+        List<Greetings> greetings = new ArrayList<>(names.size());
+        List<GreetingRegistryEntry> entries = new ArrayList<>(resolved.size());
+        for (String name : names) {
+            CompiledGreeting compiled = resolved.get(name);
+            if (compiled == null) {
+                greetings.add(new GreetingsBuilder()
+                        .setName(name)
+                        .setErrorMessage(errors.get(name))
+                        .build());
+                continue;
+            }
+            String greeting = compiled.render(name);
+            greetings.add(new GreetingsBuilder()
+                    .setName(name)
+                    .setGreeting(greeting)
+                    .build());
+            entries.add(new GreetingRegistryEntryBuilder()
+                    .setName(name)
+                    .setGreeting(greeting)
+                    .build());
+        }
+        service.writer().writeAll(entries);
+        if (!this.set(RpcResultBuilder.success(new HelloWorldBatchOutputBuilder()
+                .setGreetings(greetings)
+                .build()).build())) {
+            return;
+        }
+        cancelDeadline();
+        // may start a queued call on this thread, so only once our caller has its result
+        service.admission().release();
+    }
+}
@@ -13,19 +13,20 @@ import com.google.common.util.concurrent.AbstractFuture;
 import com.google.common.util.concurrent.CheckedFuture;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
-import org.opendaylight.controller.md.sal.binding.api.BindingTransactionChain;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
-import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
-import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev160218.GreetingRegistry;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev160218.HelloWorldInput;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev160218.HelloWorldOutput;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev160218.HelloWorldOutputBuilder;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev160218.greeting.registry.GreetingRegistryEntry;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev160218.greeting.registry.GreetingRegistryEntryBuilder;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev160218.greeting.registry.GreetingRegistryEntryKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryEntryFields;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldOutputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntryBuilder;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.opendaylight.yangtools.yang.common.RpcError.ErrorType;
 import org.opendaylight.yangtools.yang.common.RpcResult;
@@ -33,59 +34,271 @@ import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class HelloWorldFuture extends AbstractFuture<RpcResult<HelloWorldOutput>> implements FutureCallback<Optional<GreetingRegistryEntry>> {
+public class HelloWorldFuture extends AbstractFuture<RpcResult<HelloWorldOutput>> implements FutureCallback<Optional<GreetingRegistryEntryFields>> {
     private static final Logger LOG = LoggerFactory.getLogger(HelloWorldFuture.class);
+    private static final Logger SLOW_LOG = LoggerFactory.getLogger(HelloWorldFuture.class.getName() + ".slow");
+    // WAITING until admitted, then STARTED, or EXPIRED if the deadline passed first
+    private static final int WAITING = 0;
+    private static final int STARTED = 1;
+    private static final int EXPIRED = 2;
     private HelloWorldInput input;
-    private BindingTransactionChain tc;
+    private HelloWorldImpl service;
+    private long readGeneration;
+    private final long startNanos = System.nanoTime();
+    private final long id;
+    // phase boundaries for the slow-request log, 0 for phases the call did not go through. They are written on
+    // the callback and retry threads and read by whichever thread completes the call, the deadline thread
+    // included, so they are volatile: a late phase is then either seen whole or not at all
+    private volatile int failedReads;
+    private volatile long readStartNanos;
+    private volatile long admittedNanos;
+    private volatile long firstReadNanos;
+    private volatile long transactionNanos;
+    private volatile long readDoneNanos;
+    private volatile long respondNanos;
+    private final AtomicInteger phase = new AtomicInteger(WAITING);
+    private final Runnable startTask = new Runnable() {
+        @Override
+        public void run() {
+            start();
+        }
+    };
+    private volatile ScheduledFuture<?> deadline;
+    private volatile ReadOnlyTransaction pendingRead;
+    private volatile boolean expired;
 
-    public HelloWorldFuture(BindingTransactionChain tc, HelloWorldInput input) {
-        this.tc = tc;
+    public HelloWorldFuture(HelloWorldImpl service, HelloWorldInput input) {
+        this.service = service;
         this.input = input;
+        this.id = service.nextCallId();
+    }
+
+    /**
+     * Returns the task starting this call, to be queued by the {@link AdmissionController}.
+     */
+    Runnable startTask() {
+        return startTask;
+    }
+
+    /**
+     * Starts the deadline of the call, the one of its input or else the configured default.
+     */
+    void armDeadline() {
+        long millis = input.getDeadlineMillis() != null ? input.getDeadlineMillis() : service.defaultDeadlineMillis();
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            deadline = service.deadlines().schedule(new Runnable() {
+                @Override
+                public void run() {
+                    expire();
+                }
+            }, millis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Service is closing, no deadline for {}", input.getName());
+        }
+    }
+
+    /**
+     * Starts the call once it was admitted by the {@link AdmissionController}.
+     */
+    void start() {
+        if (!phase.compareAndSet(WAITING, STARTED)) {
+            // expired while waiting, the slot is not needed anymore
+            service.admission().release();
+            return;
+        }
+        admittedNanos = System.nanoTime();
+        service.metrics().rpcStarted();
         readFromGreetingRegistry(input);
     }
 
+    /**
+     * Completes a call that the {@link AdmissionController} did not admit.
+     */
+    void reject() {
+        cancelDeadline();
+        this.set(HelloWorldImpl.<HelloWorldOutput>overloaded());
+    }
+
+    private void expire() {
+        boolean fallback = service.isDeadlineFallback();
+        RpcResult<HelloWorldOutput> result = fallback
+                ? RpcResultBuilder.success(new HelloWorldOutputBuilder()
+                        .setGreeting(CompiledGreeting.DEFAULT.render(input.getName()))
+                        .build())
+                        .withWarning(ErrorType.APPLICATION, "partial-operation", "Greeting for " + input.getName()
+                                + " not determined within the deadline, answered with the default greeting")
+                        .build()
+                : RpcResultBuilder.<HelloWorldOutput>failed().withError(ErrorType.APPLICATION, "operation-failed",
+                        "Greeting for " + input.getName() + " not determined within the deadline").build();
+        if (phase.compareAndSet(WAITING, EXPIRED)) {
+            // never started, so it holds no slot; if it was dequeued meanwhile, start() returns the slot
+            service.admission().withdraw(startTask);
+            if (set(result)) {
+                service.metrics().rpcExpired(fallback);
+                logIfSlow(result, true);
+            }
+            return;
+        }
+        expired = true;
+        ReadOnlyTransaction transaction = pendingRead;
+        if (transaction != null) {
+            // frees the chain's read capacity, the read completing late is ignored
+            transaction.close();
+        }
+        if (complete(result)) {
+            service.metrics().rpcExpired(fallback);
+        }
+    }
+
+    private void cancelDeadline() {
+        ScheduledFuture<?> pending = deadline;
+        if (pending != null) {
+            pending.cancel(false);
+        }
+    }
+
+    private boolean complete(RpcResult<HelloWorldOutput> result) {
+        if (!this.set(result)) {
+            // already completed by the deadline
+            return false;
+        }
+        cancelDeadline();
+        service.metrics().rpcCompleted(startNanos, result.isSuccessful());
+        logIfSlow(result, expired);
+        // may start a queued call on this thread, so only once our caller has its result
+        service.admission().release();
+        return true;
+    }
+
+    /**
+     * Logs one record with the time spent in each phase if the call took longer than the slow-request threshold.
+     * Nothing is formatted or allocated for calls below it.
+     */
+    private void logIfSlow(RpcResult<HelloWorldOutput> result, boolean expiredCall) {
+        long endNanos = System.nanoTime();
+        long threshold = service.slowRequestThresholdNanos();
+        if (threshold <= 0 || endNanos - startNanos < threshold) {
+            return;
+        }
+        service.metrics().rpcSlow();
+        if (SLOW_LOG.isWarnEnabled()) {
+            // each boundary is read once, a phase still running on another thread must not change under us
+            long admitted = admittedNanos;
+            long firstRead = firstReadNanos;
+            long readStart = readStartNanos;
+            long transaction = transactionNanos;
+            long readDone = readDoneNanos;
+            long respond = respondNanos;
+            long readEnd = readDone != 0 ? readDone : endNanos;
+            long respondStart = readDone != 0 ? readDone : admitted;
+            SLOW_LOG.warn("Slow hello-world call id={} name={} outcome={} totalMicros={} admissionMicros={} "
+                    + "cacheHit={} retries={} failedAttemptsMicros={} transactionMicros={} readMicros={} "
+                    + "respondMicros={} completeMicros={}", id, input.getName(),
+                    expiredCall ? "expired" : result.isSuccessful() ? "success" : "failure",
+                    micros(startNanos, endNanos), micros(startNanos, admitted != 0 ? admitted : endNanos),
+                    admitted != 0 && firstRead == 0 && respond != 0, failedReads,
+                    micros(firstRead, readStart), micros(readStart, transaction),
+                    micros(transaction, readEnd), micros(respondStart, respond),
+                    micros(respond, endNanos));
+        }
+    }
+
+    // -1 for a phase that did not start or end
+    private static long micros(long fromNanos, long toNanos) {
+        return fromNanos == 0 || toNanos == 0 ? -1 : (toNanos - fromNanos) / 1000;
+    }
+
     private void writeToGreetingRegistry(HelloWorldInput input, HelloWorldOutput output) {
-        WriteTransaction transaction = tc.newWriteOnlyTransaction();
-        InstanceIdentifier<GreetingRegistryEntry> iid = toInstanceIdentifier(input);
         GreetingRegistryEntry greeting = new GreetingRegistryEntryBuilder()
                 .setGreeting(output.getGreeting())
                 .setName(input.getName())
                 .build();
-        transaction.put(LogicalDatastoreType.OPERATIONAL, iid, greeting);
-        CheckedFuture<Void, TransactionCommitFailedException> future = transaction.submit();
-        Futures.addCallback(future, new LoggingFuturesCallBack<Void>("Failed to write greeting to greeting registry", LOG));
-    }
-
-    private InstanceIdentifier<GreetingRegistryEntry> toInstanceIdentifier(HelloWorldInput input) {
-        InstanceIdentifier<GreetingRegistryEntry> iid = InstanceIdentifier.create(GreetingRegistry.class)
-                .child(GreetingRegistryEntry.class, new GreetingRegistryEntryKey(input.getName()));
-        return iid;
+        service.writer().write(greeting);
     }
 
     private void readFromGreetingRegistry(HelloWorldInput input) {
-        ReadOnlyTransaction transaction = tc.newReadOnlyTransaction();
-        InstanceIdentifier<GreetingRegistryEntry> iid = toInstanceIdentifier(input);
-        CheckedFuture<Optional<GreetingRegistryEntry>, ReadFailedException> future =
+        if (isDone()) {
+            // expired while waiting for a retry
+            return;
+        }
+        GreetingCache cache = service.cache();
+        CompiledGreeting cached = cache.getIfPresent(input.getName());
+        if (cached != null) {
+            respond(cached);
+            return;
+        }
+        readGeneration = cache.generation();
+        long readStart = System.nanoTime();
+        readStartNanos = readStart;
+        if (firstReadNanos == 0) {
+            firstReadNanos = readStart;
+        }
+        final ReadOnlyTransaction transaction;
+        try {
+            TransactionChainPool chains = service.chains();
+            transaction = chains.newReadOnlyTransaction(chains.stripeOf(input.getName()));
+            transactionNanos = System.nanoTime();
+        } catch (IllegalStateException e) {
+            // the chain failed and has not been replaced yet
+            onFailure(e);
+            return;
+        }
+        InstanceIdentifier<GreetingRegistryEntryFields> iid = service.chains().layout().entryPath(input.getName());
+        CheckedFuture<Optional<GreetingRegistryEntryFields>, ReadFailedException> future =
                 transaction.read(LogicalDatastoreType.CONFIGURATION, iid);
-        Futures.addCallback(future, this);
+        pendingRead = transaction;
+        future.addListener(new Runnable() {
+            @Override
+            public void run() {
+                pendingRead = null;
+                transaction.close();
+            }
+        }, MoreExecutors.directExecutor());
+        Futures.addCallback(future, this, service.callbacks());
     }
 
     @Override
-    public void onSuccess(Optional<GreetingRegistryEntry> result) {
-        String greeting = "Hello " + this.input.getName();
-        if (result.isPresent()) {
-            greeting = result.get().getGreeting();
+    public void onSuccess(Optional<GreetingRegistryEntryFields> result) {
+        if (isDone()) {
+            return;
         }
-        HelloWorldOutput output = new HelloWorldOutputBuilder()
-                .setGreeting(greeting)
-                .build();
+        readDoneNanos = System.nanoTime();
+        service.metrics().configReadCompleted(readStartNanos);
+        CompiledGreeting greeting = CompiledGreeting.of(result);
+        service.cache().put(input.getName(), greeting, readGeneration);
+        respond(greeting);
+    }
+
+    private void respond(CompiledGreeting greeting) {
+        HelloWorldOutput output = service.cache().output(input.getName(), greeting);
         writeToGreetingRegistry(input, output);
-        this.set(RpcResultBuilder.success(output).build());
+        respondNanos = System.nanoTime();
+        complete(RpcResultBuilder.success(output).build());
     }
 
     @Override
     public void onFailure(Throwable t) {
-        this.set(RpcResultBuilder.<HelloWorldOutput>failed().withError(ErrorType.RPC, "Failed", t).build());
-
+        if (isDone()) {
+            // expired, the read failed because the deadline closed its transaction
+            return;
+        }
+        final int attempt = failedReads;
+        failedReads = attempt + 1;
+        boolean retrying = service.retries().retry(attempt, new Runnable() {
+            @Override
+            public void run() {
+                readFromGreetingRegistry(input);
+            }
+        });
+        if (retrying) {
+            LOG.debug("Retrying read of greeting for {} (call {}) after {} failed attempts", input.getName(), id,
+                    failedReads, t);
+            return;
+        }
+        complete(RpcResultBuilder.<HelloWorldOutput>failed().withError(ErrorType.RPC,
+                "Failed to read greeting registry after " + failedReads + " attempts", t).build());
     }
 }
@@ -9,52 +9,415 @@
 package org.opendaylight.hello.impl;
 
 import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Future;
-import org.opendaylight.controller.md.sal.binding.api.BindingTransactionChain;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.NotificationPublishService;
 import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.*;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev160218.*;
+import org.opendaylight.hello.RegistryLayout;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.*;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.shards.Shard;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.shards.ShardBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.shards.ShardKey;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.opendaylight.yangtools.yang.common.RpcError.ErrorType;
 import org.opendaylight.yangtools.yang.common.RpcResult;
+import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class HelloWorldImpl implements HelloService, TransactionChainListener {
+public class HelloWorldImpl implements HelloService, AutoCloseable {
     private static final Logger LOG = LoggerFactory.getLogger(HelloWorldImpl.class);
-    private BindingTransactionChain tc;
+    /**
+     * Error tag of calls rejected by admission control, clients should back off and try again later.
+     */
+    public static final String OVERLOADED_ERROR_TAG = "resource-denied";
+    private HelloMetrics metrics;
+    private TransactionChainPool chains;
+    private RetryPolicy retries;
+    private GreetingCache cache;
+    private CommitOutcomeReporter reporter;
+    private RegistrySweeper sweeper;
+    private GreetingRegistryWriter writer;
+    private AdmissionController admission;
+    private int maxBatchNames;
+    private CallbackExecutor callbacks;
+    private CallCoalescer<Object, RpcResult<HelloWorldOutput>> coalescer;
+    private ScheduledThreadPoolExecutor deadlines;
+    private long defaultDeadlineMillis;
+    private boolean deadlineFallback;
+    private long slowRequestThresholdNanos;
+    private final AtomicLong callIds = new AtomicLong();
+    private GreetingChangePublisher changePublisher;
+    private GreetingIndex configurationIndex;
+    private GreetingIndex operationalIndex;
+    private ReverseGreetingIndex reverseIndex;
+    private BulkTransfer bulkTransfer;
+    private int maxPageSize;
+    private ListenableFuture<Void> initialization;
+    private HotNameTracker hotNames;
 
-    public HelloWorldImpl(DataBroker db) {
-        initializeDataTree(db);
-        this.tc = db.createTransactionChain(this);
+    public HelloWorldImpl(DataBroker db, HelloConfig config) {
+        this(db, config, new HelloMetrics());
+    }
+
+    public HelloWorldImpl(DataBroker db, HelloConfig config, HelloMetrics metrics) {
+        this(db, config, metrics, null);
+    }
+
+    /**
+     * @param publishService where greetings-changed notifications are published, or null not to publish them
+     */
+    public HelloWorldImpl(DataBroker db, HelloConfig config, HelloMetrics metrics,
+            NotificationPublishService publishService) {
+        this.metrics = metrics;
+        this.callbacks = new CallbackExecutor(config.getCallbackExecutorThreads(), config.getCallbackExecutorQueueSize(),
+                config.getCallbackExecutorThreadPrefix(), metrics);
+        this.deadlines = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder()
+                .setNameFormat("hello-deadline-%d")
+                .setDaemon(true)
+                .build());
+        // most calls complete in time, do not keep their cancelled deadlines around
+        deadlines.setRemoveOnCancelPolicy(true);
+        this.defaultDeadlineMillis = config.getDefaultDeadlineMillis();
+        this.deadlineFallback = config.isDeadlineFallback();
+        this.slowRequestThresholdNanos = TimeUnit.MILLISECONDS.toNanos(config.getSlowRequestThresholdMillis());
+        if (config.isCoalesceCalls()) {
+            this.coalescer = new CallCoalescer<>(metrics, config.getCoalescingWindowMillis(), HelloWorldImpl::isReusable);
+        }
+        this.admission = new AdmissionController(config.getMaxInFlightRpcs(), config.getMaxQueuedRpcs(), metrics);
+        this.maxBatchNames = config.getMaxBatchNames();
+        RegistryLayout layout = RegistryLayout.of(config.getRegistryShards());
+        this.chains = new TransactionChainPool(db, config.getTransactionChains(), layout, metrics);
+        this.retries = new RetryPolicy(config.getMaxRetries(), config.getRetryInitialBackoffMillis());
+        initializeDataTree(db, layout);
+        this.cache = new GreetingCache(db, layout, config.getGreetingCacheSize());
+        if (config.getHotNameCount() > 0) {
+            this.hotNames = new HotNameTracker(cache, metrics, config.getHotNameCount(),
+                    config.getHotNameDecaySeconds(), config.getHotNameMinRate(), config.getHotNameSampling());
+        }
+        this.reporter = new CommitOutcomeReporter(config.getCommitReportIntervalSeconds(),
+                config.getCommitFailureDetailLimit());
+        this.sweeper = new RegistrySweeper(chains, metrics, config.getOperationalRegistryMaxEntries(),
+                config.getOperationalEntryTtlSeconds(), config.getRegistrySweepIntervalSeconds(),
+                config.getRegistrySweepBatchSize());
+        this.writer = new GreetingRegistryWriter(chains, retries, metrics, reporter, sweeper, callbacks,
+                config.getWritePolicy(), config.getWriteBatchIntervalMillis(), config.getWriteBatchSize());
+        this.configurationIndex = new GreetingIndex(db, layout, LogicalDatastoreType.CONFIGURATION);
+        this.operationalIndex = new GreetingIndex(db, layout, LogicalDatastoreType.OPERATIONAL);
+        this.reverseIndex = new ReverseGreetingIndex(db, layout, metrics);
+        this.maxPageSize = config.getGetGreetingsMaxPageSize();
+        this.bulkTransfer = new BulkTransfer(db, layout, config.getBulkFileDirectory(),
+                config.getBulkImportChunkSize());
+        if (publishService != null && config.getChangeNotificationBatchSize() > 0) {
+            this.changePublisher = new GreetingChangePublisher(db, layout, publishService, metrics,
+                    config.getChangeNotificationBatchSize(), config.getChangeNotificationWindowMillis());
+        }
+    }
+
+    @Override
+    public Future<RpcResult<HelloWorldOutput>> helloWorld(final HelloWorldInput input) {
+        if (hotNames != null && input.getName() != null) {
+            hotNames.record(input.getName());
+        }
+        if (coalescer == null || input.getName() == null) {
+            return startHelloWorld(input);
+        }
+        // callers of one name share a call if they also share its deadline, collapsed callers do not take an
+        // admission slot
+        return coalescer.call(coalescingKey(input, defaultDeadlineMillis), () -> startHelloWorld(input));
+    }
+
+    /**
+     * Returns the key of the calls a hello-world call may share, the name alone for the default deadline, so that
+     * the common case does not allocate, and the name with the deadline otherwise.
+     */
+    static Object coalescingKey(HelloWorldInput input, long defaultDeadlineMillis) {
+        Long deadline = input.getDeadlineMillis();
+        return deadline == null || deadline == defaultDeadlineMillis
+                ? input.getName() : new DeadlineKey(input.getName(), deadline);
+    }
+
+    private HelloWorldFuture startHelloWorld(HelloWorldInput input) {
+        HelloWorldFuture future = new HelloWorldFuture(this, input);
+        // the deadline covers the time waiting for admission
+        future.armDeadline();
+        if (admission.tryAdmit()) {
+            future.start();
+        } else if (!admission.enqueue(future.startTask())) {
+            future.reject();
+        }
+        return future;
+    }
+
+    @Override
+    public Future<RpcResult<HelloWorldBatchOutput>> helloWorldBatch(HelloWorldBatchInput input) {
+        HelloWorldBatchFuture future = new HelloWorldBatchFuture(this, input);
+        // a batch takes a single admission slot, its size bounds the work behind that slot
+        if (future.size() > maxBatchNames) {
+            return Futures.immediateFuture(RpcResultBuilder.<HelloWorldBatchOutput>failed().withError(
+                    ErrorType.PROTOCOL, "too-big", "hello-world-batch takes at most " + maxBatchNames
+                            + " names, got " + future.size()).build());
+        }
+        future.armDeadline();
+        if (admission.tryAdmit()) {
+            future.start();
+        } else if (!admission.enqueue(future.startTask())) {
+            future.reject();
+        }
+        return future;
     }
 
     @Override
-    public Future<RpcResult<HelloWorldOutput>> helloWorld(HelloWorldInput input) {
-        return new HelloWorldFuture(tc, input);
+    public Future<RpcResult<GetGreetingsOutput>> getGreetings(GetGreetingsInput input) {
+        GreetingIndex index = input.getDatastore() == GetGreetingsInput.Datastore.Configuration
+                ? configurationIndex : operationalIndex;
+        Long limit = input.getLimit();
+        int pageSize = limit == null || limit == 0 || limit > maxPageSize ? maxPageSize : limit.intValue();
+        RpcResult<GetGreetingsOutput> result;
+        try {
+            result = RpcResultBuilder.success(index.page(input.getNamePrefix(), input.getContinuationToken(),
+                    pageSize)).build();
+        } catch (IllegalArgumentException e) {
+            result = RpcResultBuilder.<GetGreetingsOutput>failed().withError(ErrorType.PROTOCOL, "invalid-value",
+                    "Invalid continuation token " + input.getContinuationToken()).build();
+        }
+        return Futures.immediateFuture(result);
+    }
+
+    @Override
+    public Future<RpcResult<GetNamesByGreetingOutput>> getNamesByGreeting(GetNamesByGreetingInput input) {
+        Set<String> names = reverseIndex.namesOf(input.getGreeting());
+        List<String> page = new ArrayList<>(Math.min(names.size(), maxPageSize));
+        for (String name : names) {
+            if (page.size() == maxPageSize) {
+                break;
+            }
+            page.add(name);
+        }
+        GetNamesByGreetingOutput output = new GetNamesByGreetingOutputBuilder()
+                .setNames(page)
+                .setNameCount((long) names.size())
+                .build();
+        return Futures.immediateFuture(RpcResultBuilder.success(output).build());
+    }
+
+    @Override
+    public Future<RpcResult<ExportGreetingsOutput>> exportGreetings(ExportGreetingsInput input) {
+        final Path file;
+        try {
+            file = bulkTransfer.resolve(input.getFile());
+        } catch (IllegalArgumentException e) {
+            return Futures.immediateFuture(RpcResultBuilder.<ExportGreetingsOutput>failed()
+                    .withError(ErrorType.PROTOCOL, "invalid-value", e.getMessage()).build());
+        }
+        return transferResult(bulkTransfer.exportTo(file),
+                entries -> new ExportGreetingsOutputBuilder().setEntries((long) entries).build(),
+                "Export to " + file);
+    }
+
+    @Override
+    public Future<RpcResult<ImportGreetingsOutput>> importGreetings(ImportGreetingsInput input) {
+        final Path file;
+        try {
+            file = bulkTransfer.resolve(input.getFile());
+        } catch (IllegalArgumentException e) {
+            return Futures.immediateFuture(RpcResultBuilder.<ImportGreetingsOutput>failed()
+                    .withError(ErrorType.PROTOCOL, "invalid-value", e.getMessage()).build());
+        }
+        return transferResult(bulkTransfer.importFrom(file),
+                entries -> new ImportGreetingsOutputBuilder().setEntries((long) entries).build(),
+                "Import from " + file);
+    }
+
+    private <T> Future<RpcResult<T>> transferResult(ListenableFuture<Integer> transfer,
+            final Function<Integer, T> output, final String description) {
+        final SettableFuture<RpcResult<T>> result = SettableFuture.create();
+        Futures.addCallback(transfer, new FutureCallback<Integer>() {
+            @Override
+            public void onSuccess(Integer entries) {
+                result.set(RpcResultBuilder.success(output.apply(entries)).build());
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                LOG.warn("{} failed", description, t);
+                result.set(RpcResultBuilder.<T>failed()
+                        .withError(ErrorType.APPLICATION, description + " failed", t).build());
+            }
+        }, callbacks);
+        return result;
+    }
+
+    /**
+     * Returns whether a result may be handed to other calls for the same name. Results carrying a warning, such
+     * as the default greeting of a call past its deadline, only hold for the call they answered.
+     */
+    static boolean isReusable(RpcResult<?> result) {
+        return result.isSuccessful() && result.getErrors().isEmpty();
+    }
+
+    static <T> RpcResult<T> overloaded() {
+        return RpcResultBuilder.<T>failed().withError(ErrorType.APPLICATION, OVERLOADED_ERROR_TAG,
+                "Too many hello calls in progress, try again later").build();
     }
 
-    private void initializeDataTree(DataBroker db) {
-        LOG.info("Preparing to initialize the greeting registry");
-        WriteTransaction transaction = tc.newWriteOnlyTransaction();
+    private void initializeDataTree(DataBroker db, RegistryLayout layout) {
+        LOG.info("Preparing to initialize the greeting registry with {} layout", layout);
+        WriteTransaction transaction = db.newWriteOnlyTransaction();
         InstanceIdentifier<GreetingRegistry> iid = InstanceIdentifier.create(GreetingRegistry.class);
         GreetingRegistry greetingRegistry = new GreetingRegistryBuilder()
                 .build();
+        // the operational registry is rebuilt by the calls, while programmed greetings have to survive restarts
         transaction.put(LogicalDatastoreType.OPERATIONAL, iid, greetingRegistry);
-        transaction.put(LogicalDatastoreType.CONFIGURATION, iid, greetingRegistry);
-        CheckedFuture<Void, TransactionCommitFailedException> future = transaction.submit();
-        Futures.addCallback(future, new LoggingFuturesCallBack<>("Failed to create greeting registry", LOG));
+        transaction.merge(LogicalDatastoreType.CONFIGURATION, iid, greetingRegistry);
+        InstanceIdentifier<GreetingRegistryShards> shardsIid = InstanceIdentifier.create(GreetingRegistryShards.class);
+        if (layout.isSharded()) {
+            // create every shard up front, so that writes never have to create their parents
+            List<Shard> shards = new ArrayList<>(layout.getShards());
+            for (int i = 0; i < layout.getShards(); i++) {
+                shards.add(new ShardBuilder().setKey(new ShardKey((long) i)).build());
+            }
+            GreetingRegistryShards greetingRegistryShards = new GreetingRegistryShardsBuilder()
+                    .setShard(shards)
+                    .build();
+            transaction.put(LogicalDatastoreType.OPERATIONAL, shardsIid, greetingRegistryShards);
+            transaction.merge(LogicalDatastoreType.CONFIGURATION, shardsIid, greetingRegistryShards);
+        } else {
+            transaction.delete(LogicalDatastoreType.OPERATIONAL, shardsIid);
+        }
+        CheckedFuture<Void, TransactionCommitFailedException> created = transaction.submit();
+        Futures.addCallback(created, new LoggingFuturesCallBack<>("Failed to create greeting registry", LOG),
+                callbacks);
+        initialization = RegistryMigration.after(created, db, layout, callbacks);
     }
 
-    @Override
-    public void onTransactionChainFailed(TransactionChain<?, ?> transactionChain, AsyncTransaction<?, ?> asyncTransaction, Throwable throwable) {
-        LOG.warn("Hello World transaction chain failed");
+    /**
+     * Returns the creation of the greeting registry, completing once entries of other layouts were moved.
+     */
+    ListenableFuture<Void> initialization() {
+        return initialization;
+    }
+
+    /**
+     * Returns the number of transaction chains that were rebuilt after a failure.
+     */
+    public long getChainRestartCount() {
+        return metrics.getChainRestartCount();
+    }
+
+    HelloMetrics metrics() {
+        return metrics;
+    }
+
+    CallbackExecutor callbacks() {
+        return callbacks;
+    }
+
+    /**
+     * Returns the correlation id of a new call, logged with its slow-request record and retries.
+     */
+    long nextCallId() {
+        return callIds.incrementAndGet();
+    }
+
+    long slowRequestThresholdNanos() {
+        return slowRequestThresholdNanos;
+    }
+
+    ScheduledExecutorService deadlines() {
+        return deadlines;
+    }
+
+    long defaultDeadlineMillis() {
+        return defaultDeadlineMillis;
+    }
 
+    boolean isDeadlineFallback() {
+        return deadlineFallback;
+    }
+
+    AdmissionController admission() {
+        return admission;
+    }
+
+    TransactionChainPool chains() {
+        return chains;
+    }
+
+    RetryPolicy retries() {
+        return retries;
+    }
+
+    GreetingCache cache() {
+        return cache;
+    }
+
+    GreetingRegistryWriter writer() {
+        return writer;
     }
 
     @Override
-    public void onTransactionChainSuccessful(TransactionChain<?, ?> transactionChain) {
-        LOG.info("Hello World transaction chain success");
+    public void close() {
+        writer.close();
+        if (changePublisher != null) {
+            changePublisher.close();
+        }
+        if (coalescer != null) {
+            coalescer.close();
+        }
+        deadlines.shutdownNow();
+        bulkTransfer.close();
+        callbacks.close();
+        reverseIndex.close();
+        operationalIndex.close();
+        configurationIndex.close();
+        sweeper.close();
+        if (hotNames != null) {
+            hotNames.close();
+        }
+        reporter.close();
+        cache.close();
+        retries.close();
+        chains.close();
+    }
+
+    // never equal to a bare name, so calls with another deadline do not join calls with the default one
+    private static final class DeadlineKey {
+        private final String name;
+        private final long deadlineMillis;
+
+        DeadlineKey(String name, long deadlineMillis) {
+            this.name = name;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof DeadlineKey)) {
+                return false;
+            }
+            DeadlineKey other = (DeadlineKey) obj;
+            return deadlineMillis == other.deadlineMillis && name.equals(other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + Long.hashCode(deadlineMillis);
+        }
     }
 }
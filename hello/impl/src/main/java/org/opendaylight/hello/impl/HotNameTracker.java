@@ -0,0 +1,208 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.hello.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Finds the names called most often, and pins them in the {@link GreetingCache}.
+ *
+ * <p>Calls are counted in a count-min sketch of 4 rows of 2048 counters, so the memory used does not depend on
+ * the number of names; a name's estimate can only be too high, by the calls of the names sharing its counters.
+ * Up to {@code capacity} names whose estimate beats the coldest of them are kept as candidates. Counting a call
+ * only touches the sketch, and takes a lock only when a name enters the candidates.
+ *
+ * <p>Only one call in {@code sampling}, picked at random, is counted, so that the callers of a hot name do not all
+ * contend on its counters. Hot names are sampled often enough for their estimates to stay close, while the names
+ * called too rarely to be sampled could not be hot anyway.
+ *
+ * <p>Every {@code decaySeconds} all counters are halved, so a name called {@code r} times a second settles at an
+ * estimate of {@code 2 * r * decaySeconds / sampling} right before the halving, which gives its rate. The
+ * candidates reaching {@code minRate} are then pinned and the ranking is published to {@link HelloMetrics}.
+ */
+public class HotNameTracker implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(HotNameTracker.class);
+    private static final int DEPTH = 4;
+    // a power of two
+    private static final int WIDTH = 2048;
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+    private final AtomicLongArray counters = new AtomicLongArray(DEPTH * WIDTH);
+    // candidate names, the values are unused
+    private final ConcurrentMap<String, Boolean> candidates = new ConcurrentHashMap<>();
+    private final GreetingCache cache;
+    private final HelloMetrics metrics;
+    private final int capacity;
+    private final long decaySeconds;
+    private final double minRate;
+    private final int sampling;
+    private final ScheduledExecutorService executor;
+    // estimate a name has to beat to become a candidate once they are full
+    private volatile long floor;
+
+    public HotNameTracker(GreetingCache cache, HelloMetrics metrics, int capacity, long decaySeconds,
+            double minRate, int sampling) {
+        this.cache = cache;
+        this.metrics = metrics;
+        this.capacity = capacity;
+        this.decaySeconds = decaySeconds;
+        this.minRate = minRate;
+        this.sampling = sampling;
+        this.executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("hello-hot-names-%d")
+                .setDaemon(true)
+                .build());
+        executor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                decay();
+            }
+        }, decaySeconds, decaySeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Counts a call for a name, if it is sampled.
+     */
+    public void record(String name) {
+        if (sampling > 1 && ThreadLocalRandom.current().nextInt(sampling) != 0) {
+            return;
+        }
+        long estimate = Long.MAX_VALUE;
+        int hash = name.hashCode();
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(index(row, hash)));
+        }
+        if (!candidates.containsKey(name) && (candidates.size() < capacity || estimate > floor)) {
+            admit(name, estimate);
+        }
+    }
+
+    private synchronized void admit(String name, long estimate) {
+        if (candidates.containsKey(name)) {
+            return;
+        }
+        if (candidates.size() < capacity) {
+            candidates.put(name, Boolean.TRUE);
+            return;
+        }
+        String coldest = null;
+        long coldestEstimate = Long.MAX_VALUE;
+        for (String candidate : candidates.keySet()) {
+            long candidateEstimate = estimate(candidate);
+            if (candidateEstimate < coldestEstimate) {
+                coldest = candidate;
+                coldestEstimate = candidateEstimate;
+            }
+        }
+        if (coldest != null && estimate > coldestEstimate) {
+            candidates.remove(coldest);
+            candidates.put(name, Boolean.TRUE);
+            coldestEstimate = estimate;
+            for (String candidate : candidates.keySet()) {
+                coldestEstimate = Math.min(coldestEstimate, estimate(candidate));
+            }
+        }
+        floor = coldestEstimate;
+    }
+
+    /**
+     * Returns the sampled calls counted for a name.
+     */
+    long estimate(String name) {
+        long estimate = Long.MAX_VALUE;
+        int hash = name.hashCode();
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, hash)));
+        }
+        return estimate;
+    }
+
+    private static int index(int row, int hash) {
+        // murmur3 finalizer, so that names with close hash codes spread over the row
+        int h = hash ^ SEEDS[row];
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return row * WIDTH + (h & (WIDTH - 1));
+    }
+
+    /**
+     * Ranks and pins the candidates by their rate, then halves all counters.
+     */
+    synchronized void decay() {
+        try {
+            List<Map.Entry<String, Double>> ranking = new ArrayList<>(candidates.size());
+            for (String candidate : candidates.keySet()) {
+                ranking.add(new AbstractMap.SimpleImmutableEntry<>(candidate,
+                        estimate(candidate) * (double) sampling / (2.0 * decaySeconds)));
+            }
+            Collections.sort(ranking, new Comparator<Map.Entry<String, Double>>() {
+                @Override
+                public int compare(Map.Entry<String, Double> e1, Map.Entry<String, Double> e2) {
+                    return Double.compare(e2.getValue(), e1.getValue());
+                }
+            });
+            List<String> hotNames = new ArrayList<>(ranking.size());
+            Set<String> pinned = new HashSet<>();
+            for (Map.Entry<String, Double> e : ranking) {
+                hotNames.add(String.format(Locale.ROOT, "%s=%.1f", e.getKey(), e.getValue()));
+                if (e.getValue() >= minRate) {
+                    pinned.add(e.getKey());
+                }
+            }
+            cache.pin(pinned);
+            metrics.hotNamesRanked(Collections.unmodifiableList(hotNames));
+
+            for (int i = 0; i < counters.length(); i++) {
+                long value;
+                do {
+                    value = counters.get(i);
+                } while (!counters.compareAndSet(i, value, value >>> 1));
+            }
+            long coldest = Long.MAX_VALUE;
+            for (String candidate : candidates.keySet()) {
+                long estimate = estimate(candidate);
+                if (estimate == 0) {
+                    // not called for a while, make room
+                    candidates.remove(candidate);
+                } else {
+                    coldest = Math.min(coldest, estimate);
+                }
+            }
+            floor = candidates.size() < capacity ? 0 : coldest;
+        } catch (RuntimeException e) {
+            LOG.warn("Failed to rank hot names", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        cache.pin(Collections.<String>emptySet());
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.hello.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Allocation-free latency histogram with log-linear buckets.
+ *
+ * <p>Every power of two is split into {@link #SUB_BUCKETS} linear buckets, which bounds the relative error
+ * of a reported percentile to 25%. Each bucket is a {@link LongAdder}, so concurrent recorders do not
+ * contend on a single counter.
+ *
+ * <p>Durations are recorded into the slot of the minute they end in, and percentiles are reported for the last
+ * complete minute, however often they are read. Two slots alternate: the first duration recorded in a new minute
+ * clears the slot of the minute before the last one, which is the only time recording takes a lock.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+    private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private final Slot[] slots = {new Slot(), new Slot()};
+    private final LongSupplier clock;
+
+    public LatencyHistogram() {
+        this(System::nanoTime);
+    }
+
+    LatencyHistogram(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    public void record(long nanos) {
+        long window = Math.floorDiv(clock.getAsLong(), WINDOW_NANOS);
+        Slot slot = slots[(int) (window & 1)];
+        if (slot.window != window) {
+            rotate(slot, window);
+        }
+        slot.counts[bucketOf(Math.max(nanos, 0))].increment();
+    }
+
+    private synchronized void rotate(Slot slot, long window) {
+        if (slot.window != window) {
+            for (LongAdder count : slot.counts) {
+                count.reset();
+            }
+            slot.window = window;
+        }
+    }
+
+    /**
+     * Returns the given percentile, between 0 and 1, in microseconds. Reports 0 if nothing was recorded.
+     */
+    public long percentileMicros(double quantile) {
+        long window = Math.floorDiv(clock.getAsLong(), WINDOW_NANOS);
+        long[] source = countsOf(window - 1);
+        long total = sum(source);
+        if (total == 0) {
+            // no complete window yet, report what the current one has seen so far
+            source = countsOf(window);
+            total = sum(source);
+            if (total == 0) {
+                return 0;
+            }
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += source[i];
+            if (seen >= rank) {
+                return TimeUnit.NANOSECONDS.toMicros(upperBoundOf(i));
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMicros(upperBoundOf(bucketOf(Long.MAX_VALUE)));
+    }
+
+    private long[] countsOf(long window) {
+        long[] counts = new long[BUCKETS];
+        Slot slot = slots[(int) (window & 1)];
+        if (slot.window == window) {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = slot.counts[i].sum();
+            }
+        }
+        return counts;
+    }
+
+    private static long sum(long[] values) {
+        long total = 0;
+        for (long value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        long lower = (SUB_BUCKETS + sub) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    private static final class Slot {
+        private final LongAdder[] counts = new LongAdder[BUCKETS];
+        private volatile long window = Long.MIN_VALUE;
+
+        Slot() {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello.impl;
+
+import com.google.common.base.Supplier;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.JdkFutureAdapters;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.Collection;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.DataObjectModification;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeChangeListener;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeIdentifier;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeModification;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.hello.RegistryLayout;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.*;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.common.RpcResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registered in place of {@link HelloWorldImpl} when lazy activation is configured, so that the RPCs are available
+ * right away while the transaction chains, threads, listeners and greeting registry are only set up by the first
+ * call or the first change to the programmed greetings after the service was registered.
+ *
+ * <p>Calls are forwarded once the greeting registry was created, so that their operational writes cannot be
+ * overwritten by the empty registry. Calls arriving meanwhile are chained onto the activation rather than waiting
+ * for it on their own thread. Reads of the registry by other applications cannot be observed, so they do not
+ * activate the service.
+ */
+public class LazyHelloService implements HelloService, AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(LazyHelloService.class);
+    private final Supplier<HelloWorldImpl> factory;
+    private final AtomicBoolean activating = new AtomicBoolean();
+    private final SettableFuture<HelloWorldImpl> activation = SettableFuture.create();
+    private volatile HelloWorldImpl delegate;
+    private volatile ListenerRegistration<?> registryTrigger;
+
+    public LazyHelloService(Supplier<HelloWorldImpl> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Also activates the service on the first change to the CONFIGURATION greeting registry.
+     *
+     * <p>The listener is first notified of the greetings programmed before it was registered, which does not
+     * activate the service. A first change to an empty registry looks the same and is skipped as well, which
+     * only defers the activation to the next change or call.
+     */
+    public LazyHelloService(Supplier<HelloWorldImpl> factory, DataBroker db, RegistryLayout layout) {
+        this(factory);
+        this.registryTrigger = db.registerDataTreeChangeListener(
+                new DataTreeIdentifier<>(LogicalDatastoreType.CONFIGURATION, layout.entriesPath()),
+                new DataTreeChangeListener<GreetingRegistryEntryFields>() {
+                    // notifications of one listener are delivered one at a time
+                    private boolean initial = true;
+
+                    @Override
+                    public void onDataTreeChanged(
+                            Collection<DataTreeModification<GreetingRegistryEntryFields>> changes) {
+                        if (initial) {
+                            initial = false;
+                            if (isInitialContent(changes)) {
+                                return;
+                            }
+                        }
+                        activation();
+                    }
+                });
+        if (activating.get()) {
+            closeRegistryTrigger();
+        }
+    }
+
+    // the initial notification writes every existing entry, none of which had data before
+    private static boolean isInitialContent(Collection<DataTreeModification<GreetingRegistryEntryFields>> changes) {
+        for (DataTreeModification<GreetingRegistryEntryFields> change : changes) {
+            DataObjectModification<GreetingRegistryEntryFields> node = change.getRootNode();
+            if (node.getModificationType() != DataObjectModification.ModificationType.WRITE
+                    || node.getDataBefore() != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ListenableFuture<HelloWorldImpl> activation() {
+        if (activating.compareAndSet(false, true)) {
+            closeRegistryTrigger();
+            activate();
+        }
+        return activation;
+    }
+
+    private void activate() {
+        final long startNanos = System.nanoTime();
+        final HelloWorldImpl active;
+        try {
+            active = factory.get();
+        } catch (RuntimeException e) {
+            LOG.error("Failed to activate the hello service", e);
+            activation.setException(e);
+            return;
+        }
+        Futures.addCallback(active.initialization(), new FutureCallback<Void>() {
+            @Override
+            public void onSuccess(Void result) {
+                activated(active, startNanos);
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                // the service still answers, as it does when the registry fails to be created at startup
+                LOG.warn("Greeting registry not created on activation, continuing without it", t);
+                activated(active, startNanos);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    private void activated(HelloWorldImpl active, long startNanos) {
+        LOG.info("Hello service activated in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        delegate = active;
+        activation.set(active);
+    }
+
+    private void closeRegistryTrigger() {
+        ListenerRegistration<?> trigger = registryTrigger;
+        if (trigger != null) {
+            registryTrigger = null;
+            trigger.close();
+        }
+    }
+
+    /**
+     * Returns whether the service was activated and forwards calls directly.
+     */
+    public boolean isActivated() {
+        return delegate != null;
+    }
+
+    private <O> Future<RpcResult<O>> forward(final Function<HelloWorldImpl, Future<RpcResult<O>>> call) {
+        HelloWorldImpl active = delegate;
+        if (active != null) {
+            return call.apply(active);
+        }
+        // the calls do not block, so they are simply issued by the thread completing the activation
+        return Futures.transform(activation(), new AsyncFunction<HelloWorldImpl, RpcResult<O>>() {
+            @Override
+            public ListenableFuture<RpcResult<O>> apply(HelloWorldImpl input) {
+                return JdkFutureAdapters.listenInPoolThread(call.apply(input));
+            }
+        });
+    }
+
+    @Override
+    public Future<RpcResult<HelloWorldOutput>> helloWorld(final HelloWorldInput input) {
+        return forward(impl -> impl.helloWorld(input));
+    }
+
+    @Override
+    public Future<RpcResult<HelloWorldBatchOutput>> helloWorldBatch(final HelloWorldBatchInput input) {
+        return forward(impl -> impl.helloWorldBatch(input));
+    }
+
+    @Override
+    public Future<RpcResult<GetGreetingsOutput>> getGreetings(final GetGreetingsInput input) {
+        return forward(impl -> impl.getGreetings(input));
+    }
+
+    @Override
+    public Future<RpcResult<GetNamesByGreetingOutput>> getNamesByGreeting(final GetNamesByGreetingInput input) {
+        return forward(impl -> impl.getNamesByGreeting(input));
+    }
+
+    @Override
+    public Future<RpcResult<ExportGreetingsOutput>> exportGreetings(final ExportGreetingsInput input) {
+        return forward(impl -> impl.exportGreetings(input));
+    }
+
+    @Override
+    public Future<RpcResult<ImportGreetingsOutput>> importGreetings(final ImportGreetingsInput input) {
+        return forward(impl -> impl.importGreetings(input));
+    }
+
+    /**
+     * Closes the service without waiting for an activation in progress, which is closed once it completes.
+     */
+    @Override
+    public void close() {
+        closeRegistryTrigger();
+        if (activating.compareAndSet(false, true)) {
+            activation.setException(new IllegalStateException("The hello service is closed"));
+            return;
+        }
+        Futures.addCallback(activation, new FutureCallback<HelloWorldImpl>() {
+            @Override
+            public void onSuccess(HelloWorldImpl active) {
+                active.close();
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                // nothing was created
+            }
+        }, MoreExecutors.directExecutor());
+    }
+}
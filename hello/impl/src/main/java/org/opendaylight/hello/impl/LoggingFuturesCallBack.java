@@ -27,7 +27,7 @@ public class LoggingFuturesCallBack<V> implements FutureCallback<V> {
 
     @Override
     public void onSuccess(V arg0) {
-        LOG.info("Success! {} ", arg0);
+        LOG.debug("Success! {} ", arg0);
 
     }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.hello.impl;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.AsyncFunction;
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.FutureFallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
+import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.hello.RegistryLayout;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryEntryFields;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryShards;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.shards.Shard;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.shards.shard.GreetingRegistryEntry;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Moves CONFIGURATION greeting-registry entries into the active {@link RegistryLayout}.
+ *
+ * <p>Both the flat list and all shards are read, and every entry found anywhere but at its path in the
+ * active layout is moved there, which covers switching from flat to sharded, back, and changing the number
+ * of shards. Shards that are not part of the active layout are removed once emptied.
+ *
+ * <p>The reads and the commit of the moves complete on callbacks, so no thread waits for the datastore.
+ */
+final class RegistryMigration {
+    private static final Logger LOG = LoggerFactory.getLogger(RegistryMigration.class);
+
+    private RegistryMigration() {
+    }
+
+    /**
+     * Moves the entries once the commit creating the registry and the shards of the layout completed.
+     *
+     * @return a future failing only when the registry was not created, as a failed migration is logged and
+     *         leaves the entries where they are
+     */
+    static ListenableFuture<Void> after(ListenableFuture<Void> created, final DataBroker db,
+            final RegistryLayout layout, final Executor executor) {
+        return Futures.transform(created, new AsyncFunction<Void, Void>() {
+            @Override
+            public ListenableFuture<Void> apply(Void input) {
+                return Futures.withFallback(migrate(db, layout, executor), new FutureFallback<Void>() {
+                    @Override
+                    public ListenableFuture<Void> create(Throwable cause) {
+                        LOG.warn("Failed to migrate the greeting registry, entries are not moved to the {} layout",
+                                layout, cause);
+                        return Futures.immediateFuture(null);
+                    }
+                }, executor);
+            }
+        }, executor);
+    }
+
+    private static ListenableFuture<Void> migrate(final DataBroker db, final RegistryLayout layout,
+            Executor executor) {
+        final ReadOnlyTransaction read = db.newReadOnlyTransaction();
+        final CheckedFuture<Optional<GreetingRegistry>, ReadFailedException> flat =
+                read.read(LogicalDatastoreType.CONFIGURATION, InstanceIdentifier.create(GreetingRegistry.class));
+        final CheckedFuture<Optional<GreetingRegistryShards>, ReadFailedException> sharded =
+                read.read(LogicalDatastoreType.CONFIGURATION, InstanceIdentifier.create(GreetingRegistryShards.class));
+        ListenableFuture<List<Object>> reads = Futures.<Object>allAsList(flat, sharded);
+        reads.addListener(new Runnable() {
+            @Override
+            public void run() {
+                read.close();
+            }
+        }, MoreExecutors.directExecutor());
+        return Futures.transform(reads, new AsyncFunction<List<Object>, Void>() {
+            @Override
+            public ListenableFuture<Void> apply(List<Object> input) throws ReadFailedException {
+                WriteTransaction transaction = db.newWriteOnlyTransaction();
+                if (!addTo(layout, flat.checkedGet(), sharded.checkedGet(), transaction)) {
+                    transaction.cancel();
+                    return Futures.immediateFuture(null);
+                }
+                return transaction.submit();
+            }
+        }, executor);
+    }
+
+    /**
+     * Adds the moves to a transaction.
+     *
+     * @return whether the transaction modifies anything
+     */
+    private static boolean addTo(RegistryLayout layout, Optional<GreetingRegistry> flat,
+            Optional<GreetingRegistryShards> sharded, WriteTransaction transaction) {
+        int moved = 0;
+        boolean removed = false;
+        if (flat.isPresent() && layout.isSharded() && flat.get().getGreetingRegistryEntry() != null) {
+            for (GreetingRegistryEntryFields entry : flat.get().getGreetingRegistryEntry()) {
+                transaction.delete(LogicalDatastoreType.CONFIGURATION, RegistryLayout.FLAT.entryPath(entry.getName()));
+                layout.put(transaction, LogicalDatastoreType.CONFIGURATION, entry);
+                moved++;
+            }
+        }
+        if (sharded.isPresent() && sharded.get().getShard() != null) {
+            for (Shard shard : sharded.get().getShard()) {
+                boolean retained = shard.getId() < layout.getShards();
+                if (shard.getGreetingRegistryEntry() != null) {
+                    for (GreetingRegistryEntry entry : shard.getGreetingRegistryEntry()) {
+                        if (retained && layout.shardOf(entry.getName()) == shard.getId()) {
+                            continue;
+                        }
+                        InstanceIdentifier<GreetingRegistryEntry> from = InstanceIdentifier
+                                .create(GreetingRegistryShards.class)
+                                .child(Shard.class, shard.getKey())
+                                .child(GreetingRegistryEntry.class, entry.getKey());
+                        transaction.delete(LogicalDatastoreType.CONFIGURATION, from);
+                        layout.put(transaction, LogicalDatastoreType.CONFIGURATION, entry);
+                        moved++;
+                    }
+                }
+                if (!retained) {
+                    removed = true;
+                    transaction.delete(LogicalDatastoreType.CONFIGURATION, InstanceIdentifier
+                            .create(GreetingRegistryShards.class)
+                            .child(Shard.class, shard.getKey()));
+                }
+            }
+        }
+        if (moved > 0) {
+            LOG.info("Moving {} greeting-registry entries to the {} layout", moved, layout);
+        }
+        return moved > 0 || removed;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.hello.impl;
+
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the OPERATIONAL greeting-registry bounded.
+ *
+ * <p>The time every name was last greeted is tracked through {@link #touch(String)}. A periodic sweep removes
+ * entries that were idle for longer than the TTL, then the least recently used ones above the maximum size.
+ * Deletes go through the transaction chain stripe of the name, so they stay ordered with the writes of the
+ * {@link GreetingRegistryWriter}, and are submitted in batches. A sweep waits for each batch to commit before
+ * submitting the next, so it never has more than one batch in flight next to the RPC traffic.
+ */
+public class RegistrySweeper implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(RegistrySweeper.class);
+    private static final Comparator<Map.Entry<String, Long>> LEAST_RECENTLY_USED =
+            (a, b) -> Long.compare(a.getValue(), b.getValue());
+    private final TransactionChainPool chains;
+    private final HelloMetrics metrics;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final long sweepIntervalSeconds;
+    private final int batchSize;
+    private final ConcurrentMap<String, Long> lastUsed = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+
+    /**
+     * @param maxEntries maximum number of entries, 0 for no limit
+     * @param ttlSeconds idle time after which an entry is removed, 0 to never expire entries
+     */
+    public RegistrySweeper(TransactionChainPool chains, HelloMetrics metrics, int maxEntries, long ttlSeconds,
+            long sweepIntervalSeconds, int batchSize) {
+        this.chains = chains;
+        this.metrics = metrics;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.sweepIntervalSeconds = sweepIntervalSeconds;
+        this.batchSize = batchSize;
+        if (isEnabled()) {
+            this.executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat("hello-registry-sweeper-%d")
+                    .setDaemon(true)
+                    .build());
+            executor.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    sweep();
+                }
+            }, sweepIntervalSeconds, sweepIntervalSeconds, TimeUnit.SECONDS);
+        } else {
+            this.executor = null;
+        }
+    }
+
+    private boolean isEnabled() {
+        return maxEntries > 0 || ttlNanos > 0;
+    }
+
+    /**
+     * Records that a name was greeted.
+     *
+     * @return false if the name was not tracked, because it is new or its entry was removed, in which case the
+     *         entry has to be written even if the greeting did not change
+     */
+    public boolean touch(String name) {
+        if (!isEnabled()) {
+            return true;
+        }
+        return lastUsed.put(name, System.nanoTime()) != null;
+    }
+
+    void sweep() {
+        try {
+            long now = System.nanoTime();
+            List<String> expired = new ArrayList<>();
+            List<Map.Entry<String, Long>> live = new ArrayList<>(lastUsed.size());
+            for (Map.Entry<String, Long> e : lastUsed.entrySet()) {
+                if (ttlNanos > 0 && now - e.getValue() > ttlNanos) {
+                    if (lastUsed.remove(e.getKey(), e.getValue())) {
+                        expired.add(e.getKey());
+                    }
+                } else {
+                    live.add(e);
+                }
+            }
+            List<String> surplus = new ArrayList<>();
+            if (maxEntries > 0 && live.size() > maxEntries) {
+                Collections.sort(live, LEAST_RECENTLY_USED);
+                for (Map.Entry<String, Long> e : live.subList(0, live.size() - maxEntries)) {
+                    // skipped if the name was greeted since we looked
+                    if (lastUsed.remove(e.getKey(), e.getValue())) {
+                        surplus.add(e.getKey());
+                    }
+                }
+            }
+            int expiredEvictions = delete(expired);
+            int sizeEvictions = delete(surplus);
+            metrics.registryEntriesEvicted(expiredEvictions, sizeEvictions, lastUsed.size());
+            if (expiredEvictions > 0 || sizeEvictions > 0) {
+                LOG.debug("Removed {} expired and {} surplus operational greeting-registry entries", expiredEvictions,
+                        sizeEvictions);
+            }
+        } catch (RuntimeException e) {
+            // do not let one failed sweep cancel the periodic task
+            LOG.warn("Failed to sweep the operational greeting registry", e);
+        }
+    }
+
+    /**
+     * Deletes entries batch by batch and returns the number deleted. The names of batches that could not be
+     * deleted are tracked again, so the next sweep picks them up.
+     */
+    private int delete(List<String> names) {
+        for (int from = 0; from < names.size(); from += batchSize) {
+            List<String> batch = names.subList(from, Math.min(from + batchSize, names.size()));
+            List<List<String>> stripes = new ArrayList<>(chains.size());
+            for (int i = 0; i < chains.size(); i++) {
+                stripes.add(new ArrayList<String>());
+            }
+            for (String name : batch) {
+                stripes.get(chains.stripeOf(name)).add(name);
+            }
+            List<CheckedFuture<Void, TransactionCommitFailedException>> commits = new ArrayList<>();
+            try {
+                for (int i = 0; i < stripes.size(); i++) {
+                    final List<String> stripe = stripes.get(i);
+                    if (!stripe.isEmpty()) {
+                        commits.add(chains.submit(i, transaction -> {
+                            for (String name : stripe) {
+                                transaction.delete(LogicalDatastoreType.OPERATIONAL, chains.layout().entryPath(name));
+                            }
+                        }));
+                    }
+                }
+                Futures.allAsList(commits).get(sweepIntervalSeconds, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return from;
+            } catch (ExecutionException | TimeoutException | IllegalStateException e) {
+                LOG.warn("Failed to remove {} operational greeting-registry entries, will retry on the next sweep",
+                        batch.size(), e);
+                retrack(names.subList(from, names.size()));
+                return from;
+            }
+            // a name greeted while its delete was in flight may have been written before the delete; forget it
+            // so that its next greeting writes the entry again
+            for (String name : batch) {
+                lastUsed.remove(name);
+            }
+        }
+        return names.size();
+    }
+
+    private void retrack(List<String> names) {
+        long expired = System.nanoTime() - ttlNanos - 1;
+        for (String name : names) {
+            lastUsed.putIfAbsent(name, expired);
+        }
+    }
+
+    /**
+     * Returns the number of tracked entries.
+     */
+    public int size() {
+        return lastUsed.size();
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.hello.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Re-issues failed datastore operations with bounded exponential backoff.
+ *
+ * <p>The delay doubles with every attempt, capped at {@link #MAX_BACKOFF_MILLIS}, and gets up to 50% random
+ * jitter so that the operations of a failed chain do not all hit its replacement at the same instant.
+ */
+public class RetryPolicy implements AutoCloseable {
+    private static final long MAX_BACKOFF_MILLIS = 5000;
+    private final int maxRetries;
+    private final long initialBackoffMillis;
+    private final ScheduledExecutorService scheduler;
+
+    public RetryPolicy(int maxRetries, long initialBackoffMillis) {
+        this.maxRetries = maxRetries;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("hello-retry-%d")
+                .setDaemon(true)
+                .build());
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Schedules {@code task} to run after the backoff for the given attempt.
+     *
+     * @param attempt number of attempts that already failed, starting at 0
+     * @return false if the retries are exhausted or the policy is closed, in which case the task is not run
+     */
+    public boolean retry(int attempt, Runnable task) {
+        if (attempt >= maxRetries) {
+            return false;
+        }
+        long delay = Math.min(initialBackoffMillis << Math.min(attempt, 20), MAX_BACKOFF_MILLIS);
+        delay += ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+        try {
+            scheduler.schedule(task, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
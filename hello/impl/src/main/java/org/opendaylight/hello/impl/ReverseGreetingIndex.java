@@ -0,0 +1,120 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.hello.impl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.DataObjectModification;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeChangeListener;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeIdentifier;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeModification;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.hello.RegistryLayout;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryEntryFields;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+
+/**
+ * Index from the greeting programmed in the CONFIGURATION greeting registry to the names programmed with it.
+ *
+ * <p>Entries with a template are indexed by the template, the others by their literal greeting. Updates come
+ * from a data-tree change listener and move a name between sets using the entry's state before and after the
+ * change. Greetings are interned, so the key is shared with every other index holding the same greeting.
+ * Lookups are a single hash map access.
+ *
+ * <p>The footprint reported to {@link HelloMetrics} is an estimate from the string lengths and typical
+ * per-node overheads of a 64-bit JVM with compressed references.
+ */
+public class ReverseGreetingIndex implements DataTreeChangeListener<GreetingRegistryEntryFields>, AutoCloseable {
+    // String with its char[] header, plus a ConcurrentHashMap node
+    private static final long STRING_BYTES = 56;
+    private static final long NODE_BYTES = 32;
+    // the ConcurrentHashMap and its key set view backing each greeting's names
+    private static final long SET_BYTES = 128;
+    private final ConcurrentMap<String, Set<String>> names = new ConcurrentHashMap<>();
+    private final HelloMetrics metrics;
+    private final ListenerRegistration<ReverseGreetingIndex> registration;
+    // only updated by the listener, whose notifications are serialized
+    private int nameCount;
+    private long estimatedBytes;
+
+    public ReverseGreetingIndex(DataBroker db, RegistryLayout layout, HelloMetrics metrics) {
+        this.metrics = metrics;
+        this.registration = db.registerDataTreeChangeListener(
+                new DataTreeIdentifier<>(LogicalDatastoreType.CONFIGURATION, layout.entriesPath()), this);
+    }
+
+    @Override
+    public void onDataTreeChanged(Collection<DataTreeModification<GreetingRegistryEntryFields>> changes) {
+        for (DataTreeModification<GreetingRegistryEntryFields> change : changes) {
+            DataObjectModification<GreetingRegistryEntryFields> node = change.getRootNode();
+            GreetingRegistryEntryFields before = node.getDataBefore();
+            GreetingRegistryEntryFields after =
+                    node.getModificationType() == DataObjectModification.ModificationType.DELETE
+                            ? null : node.getDataAfter();
+            String oldGreeting = before == null ? null : programmedGreeting(before);
+            String newGreeting = after == null ? null : programmedGreeting(after);
+            if (oldGreeting != null && (newGreeting == null || !oldGreeting.equals(newGreeting))) {
+                remove(oldGreeting, before.getName());
+            }
+            if (newGreeting != null && (oldGreeting == null || !oldGreeting.equals(newGreeting))) {
+                add(CompiledGreeting.intern(newGreeting), after.getName());
+            }
+        }
+        metrics.reverseIndexUpdated(names.size(), nameCount, estimatedBytes);
+    }
+
+    private static String programmedGreeting(GreetingRegistryEntryFields entry) {
+        return entry.getGreetingTemplate() != null ? entry.getGreetingTemplate().getValue() : entry.getGreeting();
+    }
+
+    private void add(String greeting, String name) {
+        Set<String> set = names.get(greeting);
+        if (set == null) {
+            set = ConcurrentHashMap.newKeySet();
+            names.put(greeting, set);
+            estimatedBytes += NODE_BYTES + STRING_BYTES + 2L * greeting.length() + SET_BYTES;
+        }
+        if (set.add(name)) {
+            nameCount++;
+            estimatedBytes += NODE_BYTES + STRING_BYTES + 2L * name.length();
+        }
+    }
+
+    private void remove(String greeting, String name) {
+        Set<String> set = names.get(greeting);
+        if (set == null || !set.remove(name)) {
+            return;
+        }
+        nameCount--;
+        estimatedBytes -= NODE_BYTES + STRING_BYTES + 2L * name.length();
+        if (set.isEmpty()) {
+            names.remove(greeting);
+            estimatedBytes -= NODE_BYTES + STRING_BYTES + 2L * greeting.length() + SET_BYTES;
+        }
+    }
+
+    /**
+     * Returns a live view of the names programmed with a greeting.
+     */
+    public Set<String> namesOf(String greeting) {
+        Set<String> set = greeting == null ? null : names.get(greeting);
+        return set == null ? Collections.<String>emptySet() : Collections.unmodifiableSet(set);
+    }
+
+    @Override
+    public void close() {
+        if (registration != null) {
+            registration.close();
+        }
+    }
+}
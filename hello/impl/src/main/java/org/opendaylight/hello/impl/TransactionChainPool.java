@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.hello.impl;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.CheckedFuture;
+import java.util.function.Consumer;
+import org.opendaylight.controller.md.sal.binding.api.BindingTransactionChain;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
+import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.AsyncTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionChain;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionChainListener;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
+import org.opendaylight.hello.RegistryLayout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A fixed set of transaction chains, striped by greeting name.
+ *
+ * <p>All transactions for one name are allocated from the same chain, so they stay ordered, while
+ * unrelated names spread over the other chains and proceed in parallel. With a sharded {@link RegistryLayout}
+ * stripes follow the shards, so every shard is only ever written through one chain. A chain only allows one
+ * open write transaction at a time, so allocation and submission are serialized per stripe.
+ *
+ * <p>A failed chain is replaced with a new one on the same stripe. Operations that were in flight on
+ * the failed chain fail as well and are expected to be re-issued by their owner, see {@link RetryPolicy}.
+ */
+public class TransactionChainPool implements TransactionChainListener, AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(TransactionChainPool.class);
+    private final DataBroker db;
+    private final RegistryLayout layout;
+    private final BindingTransactionChain[] chains;
+    private final Object[] locks;
+    private final HelloMetrics metrics;
+    private volatile boolean closed;
+
+    public TransactionChainPool(DataBroker db, int size, RegistryLayout layout, HelloMetrics metrics) {
+        Preconditions.checkArgument(size > 0, "Pool size must be positive, was %s", size);
+        this.db = db;
+        this.layout = layout;
+        this.metrics = metrics;
+        this.chains = new BindingTransactionChain[size];
+        this.locks = new Object[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new Object();
+            chains[i] = db.createTransactionChain(this);
+        }
+    }
+
+    public int size() {
+        return chains.length;
+    }
+
+    public RegistryLayout layout() {
+        return layout;
+    }
+
+    public int stripeOf(String name) {
+        if (layout.isSharded()) {
+            return layout.shardOf(name) % chains.length;
+        }
+        if (name == null) {
+            return 0;
+        }
+        int h = name.hashCode();
+        // spread the high bits, names often differ only in their last characters
+        h ^= h >>> 16;
+        return (h & Integer.MAX_VALUE) % chains.length;
+    }
+
+    public ReadOnlyTransaction newReadOnlyTransaction(int stripe) {
+        synchronized (locks[stripe]) {
+            return chains[stripe].newReadOnlyTransaction();
+        }
+    }
+
+    /**
+     * Allocates a write transaction on a stripe, lets {@code operations} populate it and submits it
+     * before any other transaction can be allocated from that stripe.
+     */
+    public CheckedFuture<Void, TransactionCommitFailedException> submit(int stripe,
+            Consumer<WriteTransaction> operations) {
+        synchronized (locks[stripe]) {
+            WriteTransaction transaction = chains[stripe].newWriteOnlyTransaction();
+            operations.accept(transaction);
+            return transaction.submit();
+        }
+    }
+
+    @Override
+    public void onTransactionChainFailed(TransactionChain<?, ?> transactionChain, AsyncTransaction<?, ?> asyncTransaction, Throwable throwable) {
+        for (int i = 0; i < chains.length; i++) {
+            synchronized (locks[i]) {
+                if (chains[i] == transactionChain) {
+                    transactionChain.close();
+                    if (closed) {
+                        LOG.warn("Hello World transaction chain failed during shutdown", throwable);
+                        return;
+                    }
+                    chains[i] = db.createTransactionChain(this);
+                    metrics.chainRestarted();
+                    LOG.warn("Hello World transaction chain {} failed in transaction {}, restarted it ({} restarts so far)",
+                            i, asyncTransaction, metrics.getChainRestartCount(), throwable);
+                    return;
+                }
+            }
+        }
+        LOG.debug("Ignoring failure of retired transaction chain {}", transactionChain, throwable);
+    }
+
+    @Override
+    public void onTransactionChainSuccessful(TransactionChain<?, ?> transactionChain) {
+        LOG.debug("Hello World transaction chain {} closed", transactionChain);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (int i = 0; i < chains.length; i++) {
+            synchronized (locks[i]) {
+                chains[i].close();
+            }
+        }
+    }
+}
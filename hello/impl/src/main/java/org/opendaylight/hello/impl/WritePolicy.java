@@ -0,0 +1,21 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.hello.impl;
+
+/**
+ * Controls how {@link GreetingRegistryWriter} writes greetings to the operational greeting-registry.
+ */
+public enum WritePolicy {
+    /** Every greeting is written in its own transaction. */
+    ALWAYS,
+    /** A greeting is written in its own transaction unless it matches the last value written. */
+    ON_CHANGE,
+    /** Changed greetings are coalesced by name and written in periodic batches. */
+    BATCHED
+}
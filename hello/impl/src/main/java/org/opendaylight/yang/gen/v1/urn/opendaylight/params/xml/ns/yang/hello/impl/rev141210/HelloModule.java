@@ -7,7 +7,11 @@
  */
 package org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.impl.rev141210;
 
+import org.opendaylight.controller.config.api.JmxAttributeValidationException;
+import org.opendaylight.hello.impl.HelloConfig;
+import org.opendaylight.hello.impl.HelloMetrics;
 import org.opendaylight.hello.impl.HelloProvider;
+import org.opendaylight.hello.impl.WritePolicy;
 
 public class HelloModule extends org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.impl.rev141210.AbstractHelloModule {
     public HelloModule(org.opendaylight.controller.config.api.ModuleIdentifier identifier, org.opendaylight.controller.config.api.DependencyResolver dependencyResolver) {
@@ -20,14 +24,100 @@ public class HelloModule extends org.opendaylight.yang.gen.v1.urn.opendaylight.p
 
     @Override
     public void customValidation() {
-        // add custom validation form module attributes here.
+        JmxAttributeValidationException.checkCondition(getWriteBatchIntervalMillis() > 0,
+                "must be greater than 0", writeBatchIntervalMillisJmxAttribute);
+        JmxAttributeValidationException.checkCondition(getWriteBatchSize() > 0,
+                "must be greater than 0", writeBatchSizeJmxAttribute);
+        JmxAttributeValidationException.checkCondition(getTransactionChains() > 0,
+                "must be greater than 0", transactionChainsJmxAttribute);
+        JmxAttributeValidationException.checkCondition(getRetryInitialBackoffMillis() > 0,
+                "must be greater than 0", retryInitialBackoffMillisJmxAttribute);
+        JmxAttributeValidationException.checkCondition(getCommitReportIntervalSeconds() > 0,
+                "must be greater than 0", commitReportIntervalSecondsJmxAttribute);
+        JmxAttributeValidationException.checkCondition(getRegistrySweepIntervalSeconds() > 0,
+                "must be greater than 0", registrySweepIntervalSecondsJmxAttribute);
+        JmxAttributeValidationException.checkCondition(getRegistrySweepBatchSize() > 0,
+                "must be greater than 0", registrySweepBatchSizeJmxAttribute);
+        JmxAttributeValidationException.checkCondition(getChangeNotificationWindowMillis() > 0,
+                "must be greater than 0", changeNotificationWindowMillisJmxAttribute);
+        JmxAttributeValidationException.checkCondition(getMaxBatchNames() > 0,
+                "must be greater than 0", maxBatchNamesJmxAttribute);
+        JmxAttributeValidationException.checkCondition(getGetGreetingsMaxPageSize() > 0,
+                "must be greater than 0", getGreetingsMaxPageSizeJmxAttribute);
+        JmxAttributeValidationException.checkCondition(getCallbackExecutorThreads() > 0,
+                "must be greater than 0", callbackExecutorThreadsJmxAttribute);
+        JmxAttributeValidationException.checkCondition(getCallbackExecutorQueueSize() > 0,
+                "must be greater than 0", callbackExecutorQueueSizeJmxAttribute);
+        JmxAttributeValidationException.checkCondition(getCallbackExecutorThreadPrefix() != null && !getCallbackExecutorThreadPrefix().isEmpty()
+                && !getCallbackExecutorThreadPrefix().contains("%"), "must not be empty or contain %", callbackExecutorThreadPrefixJmxAttribute);
+        JmxAttributeValidationException.checkCondition(getBulkFileDirectory() != null && !getBulkFileDirectory().isEmpty(),
+                "must not be empty", bulkFileDirectoryJmxAttribute);
+        JmxAttributeValidationException.checkCondition(getBulkImportChunkSize() > 0,
+                "must be greater than 0", bulkImportChunkSizeJmxAttribute);
+        JmxAttributeValidationException.checkCondition(getHotNameDecaySeconds() > 0,
+                "must be greater than 0", hotNameDecaySecondsJmxAttribute);
+        JmxAttributeValidationException.checkCondition(getHotNameSampling() > 0,
+                "must be greater than 0", hotNameSamplingJmxAttribute);
     }
 
     @Override
     public java.lang.AutoCloseable createInstance() {
-        HelloProvider provider = new HelloProvider();
+        HelloMetrics metrics = new HelloMetrics();
+        HelloConfig config = new HelloConfig.Builder()
+                .setGreetingCacheSize(getGreetingCacheSize())
+                .setWritePolicy(writePolicyOf(getOperationalWritePolicy()))
+                .setWriteBatchIntervalMillis(getWriteBatchIntervalMillis())
+                .setWriteBatchSize(getWriteBatchSize().intValue())
+                .setTransactionChains(getTransactionChains().intValue())
+                .setMaxRetries(getMaxRetries().intValue())
+                .setRetryInitialBackoffMillis(getRetryInitialBackoffMillis())
+                .setMaxInFlightRpcs(getMaxInFlightRpcs().intValue())
+                .setMaxQueuedRpcs(getMaxQueuedRpcs().intValue())
+                .setMaxBatchNames(getMaxBatchNames().intValue())
+                .setCommitReportIntervalSeconds(getCommitReportIntervalSeconds())
+                .setCommitFailureDetailLimit(getCommitFailureDetailLimit().intValue())
+                .setOperationalRegistryMaxEntries(getOperationalRegistryMaxEntries().intValue())
+                .setOperationalEntryTtlSeconds(getOperationalEntryTtlSeconds())
+                .setRegistrySweepIntervalSeconds(getRegistrySweepIntervalSeconds())
+                .setRegistrySweepBatchSize(getRegistrySweepBatchSize().intValue())
+                .setRegistryShards(getRegistryShards().intValue())
+                .setChangeNotificationBatchSize(getChangeNotificationBatchSize().intValue())
+                .setChangeNotificationWindowMillis(getChangeNotificationWindowMillis())
+                .setGetGreetingsMaxPageSize(getGetGreetingsMaxPageSize().intValue())
+                .setCallbackExecutorThreads(getCallbackExecutorThreads().intValue())
+                .setCallbackExecutorQueueSize(getCallbackExecutorQueueSize().intValue())
+                .setCallbackExecutorThreadPrefix(getCallbackExecutorThreadPrefix())
+                .setBulkFileDirectory(getBulkFileDirectory())
+                .setBulkImportChunkSize(getBulkImportChunkSize().intValue())
+                .setCoalesceCalls(getCoalesceCalls())
+                .setCoalescingWindowMillis(getCoalescingWindowMillis())
+                .setDefaultDeadlineMillis(getDefaultDeadlineMillis())
+                .setDeadlineFallback(getDeadlineFallback())
+                .setSlowRequestThresholdMillis(getSlowRequestThresholdMillis())
+                .setLazyActivation(getLazyActivation())
+                .setHotNameCount(getHotNameCount().intValue())
+                .setHotNameDecaySeconds(getHotNameDecaySeconds())
+                .setHotNameMinRate(getHotNameMinRate())
+                .setHotNameSampling(getHotNameSampling().intValue())
+                .build();
+        HelloProvider provider = new HelloProvider(config, metrics);
+        HelloRuntimeRegistrator registrator = getRootRuntimeBeanRegistratorWrapper();
+        if (registrator != null) {
+            provider.setRuntimeRegistration(registrator.register(metrics));
+        }
         getBrokerDependency().registerProvider(provider);
         return provider;
     }
 
+    private static WritePolicy writePolicyOf(OperationalWritePolicy policy) {
+        switch (policy) {
+            case OnChange:
+                return WritePolicy.ON_CHANGE;
+            case Batched:
+                return WritePolicy.BATCHED;
+            default:
+                return WritePolicy.ALWAYS;
+        }
+    }
+
 }
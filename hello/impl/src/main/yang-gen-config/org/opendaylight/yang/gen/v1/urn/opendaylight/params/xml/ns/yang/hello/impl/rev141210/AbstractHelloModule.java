@@ -10,15 +10,86 @@
 package org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.impl.rev141210;
 @org.opendaylight.yangtools.yang.binding.annotations.ModuleQName(namespace = "urn:opendaylight:params:xml:ns:yang:hello:impl", name = "hello-impl", revision = "2014-12-10")
 
-public abstract class AbstractHelloModule extends org.opendaylight.controller.config.spi.AbstractModule<AbstractHelloModule> implements org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.impl.rev141210.HelloModuleMXBean {
+public abstract class AbstractHelloModule extends org.opendaylight.controller.config.spi.AbstractModule<AbstractHelloModule> implements org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.impl.rev141210.HelloModuleMXBean,org.opendaylight.controller.config.api.RuntimeBeanRegistratorAwareModule {
     public static final org.opendaylight.controller.config.api.JmxAttribute brokerJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("Broker");
+    public static final org.opendaylight.controller.config.api.JmxAttribute greetingCacheSizeJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("GreetingCacheSize");
+    public static final org.opendaylight.controller.config.api.JmxAttribute operationalWritePolicyJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("OperationalWritePolicy");
+    public static final org.opendaylight.controller.config.api.JmxAttribute writeBatchIntervalMillisJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("WriteBatchIntervalMillis");
+    public static final org.opendaylight.controller.config.api.JmxAttribute writeBatchSizeJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("WriteBatchSize");
+    public static final org.opendaylight.controller.config.api.JmxAttribute transactionChainsJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("TransactionChains");
+    public static final org.opendaylight.controller.config.api.JmxAttribute maxRetriesJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("MaxRetries");
+    public static final org.opendaylight.controller.config.api.JmxAttribute retryInitialBackoffMillisJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("RetryInitialBackoffMillis");
+    public static final org.opendaylight.controller.config.api.JmxAttribute maxInFlightRpcsJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("MaxInFlightRpcs");
+    public static final org.opendaylight.controller.config.api.JmxAttribute maxQueuedRpcsJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("MaxQueuedRpcs");
+    public static final org.opendaylight.controller.config.api.JmxAttribute commitReportIntervalSecondsJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("CommitReportIntervalSeconds");
+    public static final org.opendaylight.controller.config.api.JmxAttribute commitFailureDetailLimitJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("CommitFailureDetailLimit");
+    public static final org.opendaylight.controller.config.api.JmxAttribute operationalRegistryMaxEntriesJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("OperationalRegistryMaxEntries");
+    public static final org.opendaylight.controller.config.api.JmxAttribute operationalEntryTtlSecondsJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("OperationalEntryTtlSeconds");
+    public static final org.opendaylight.controller.config.api.JmxAttribute registrySweepIntervalSecondsJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("RegistrySweepIntervalSeconds");
+    public static final org.opendaylight.controller.config.api.JmxAttribute registrySweepBatchSizeJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("RegistrySweepBatchSize");
+    public static final org.opendaylight.controller.config.api.JmxAttribute registryShardsJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("RegistryShards");
+    public static final org.opendaylight.controller.config.api.JmxAttribute changeNotificationBatchSizeJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("ChangeNotificationBatchSize");
+    public static final org.opendaylight.controller.config.api.JmxAttribute changeNotificationWindowMillisJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("ChangeNotificationWindowMillis");
+    public static final org.opendaylight.controller.config.api.JmxAttribute getGreetingsMaxPageSizeJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("GetGreetingsMaxPageSize");
+    public static final org.opendaylight.controller.config.api.JmxAttribute callbackExecutorThreadsJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("CallbackExecutorThreads");
+    public static final org.opendaylight.controller.config.api.JmxAttribute callbackExecutorQueueSizeJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("CallbackExecutorQueueSize");
+    public static final org.opendaylight.controller.config.api.JmxAttribute callbackExecutorThreadPrefixJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("CallbackExecutorThreadPrefix");
+    public static final org.opendaylight.controller.config.api.JmxAttribute bulkFileDirectoryJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("BulkFileDirectory");
+    public static final org.opendaylight.controller.config.api.JmxAttribute bulkImportChunkSizeJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("BulkImportChunkSize");
+    public static final org.opendaylight.controller.config.api.JmxAttribute coalesceCallsJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("CoalesceCalls");
+    public static final org.opendaylight.controller.config.api.JmxAttribute coalescingWindowMillisJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("CoalescingWindowMillis");
+    public static final org.opendaylight.controller.config.api.JmxAttribute defaultDeadlineMillisJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("DefaultDeadlineMillis");
+    public static final org.opendaylight.controller.config.api.JmxAttribute deadlineFallbackJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("DeadlineFallback");
+    public static final org.opendaylight.controller.config.api.JmxAttribute slowRequestThresholdMillisJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("SlowRequestThresholdMillis");
+    public static final org.opendaylight.controller.config.api.JmxAttribute lazyActivationJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("LazyActivation");
+    public static final org.opendaylight.controller.config.api.JmxAttribute hotNameCountJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("HotNameCount");
+    public static final org.opendaylight.controller.config.api.JmxAttribute hotNameDecaySecondsJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("HotNameDecaySeconds");
+    public static final org.opendaylight.controller.config.api.JmxAttribute hotNameMinRateJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("HotNameMinRate");
+    public static final org.opendaylight.controller.config.api.JmxAttribute hotNameSamplingJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("HotNameSampling");
+    public static final org.opendaylight.controller.config.api.JmxAttribute maxBatchNamesJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("MaxBatchNames");
 
     //attributes start
     private static final org.slf4j.Logger LOGGER = org.slf4j.LoggerFactory.getLogger(org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.impl.rev141210.AbstractHelloModule.class);
     private javax.management.ObjectName broker; // mandatory
 
+    private java.lang.Long greetingCacheSize = new java.lang.Long("10000");
+    private org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.impl.rev141210.OperationalWritePolicy operationalWritePolicy = org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.impl.rev141210.OperationalWritePolicy.Always;
+    private java.lang.Long writeBatchIntervalMillis = new java.lang.Long("10");
+    private java.lang.Long writeBatchSize = new java.lang.Long("500");
+    private java.lang.Long transactionChains = new java.lang.Long("4");
+    private java.lang.Long maxRetries = new java.lang.Long("5");
+    private java.lang.Long retryInitialBackoffMillis = new java.lang.Long("10");
+    private java.lang.Long maxInFlightRpcs = new java.lang.Long("1000");
+    private java.lang.Long maxQueuedRpcs = new java.lang.Long("1000");
+    private java.lang.Long commitReportIntervalSeconds = new java.lang.Long("60");
+    private java.lang.Long commitFailureDetailLimit = new java.lang.Long("3");
+    private java.lang.Long operationalRegistryMaxEntries = new java.lang.Long("100000");
+    private java.lang.Long operationalEntryTtlSeconds = new java.lang.Long("86400");
+    private java.lang.Long registrySweepIntervalSeconds = new java.lang.Long("60");
+    private java.lang.Long registrySweepBatchSize = new java.lang.Long("500");
+    private java.lang.Long registryShards = new java.lang.Long("0");
+    private java.lang.Long changeNotificationBatchSize = new java.lang.Long("1000");
+    private java.lang.Long changeNotificationWindowMillis = new java.lang.Long("100");
+    private java.lang.Long getGreetingsMaxPageSize = new java.lang.Long("1000");
+    private java.lang.Long callbackExecutorThreads = new java.lang.Long("4");
+    private java.lang.Long callbackExecutorQueueSize = new java.lang.Long("10000");
+    private java.lang.String callbackExecutorThreadPrefix = "hello-callback";
+    private java.lang.String bulkFileDirectory = "data/hello";
+    private java.lang.Long bulkImportChunkSize = new java.lang.Long("10000");
+    private java.lang.Boolean coalesceCalls = new java.lang.Boolean("true");
+    private java.lang.Long coalescingWindowMillis = new java.lang.Long("0");
+    private java.lang.Long defaultDeadlineMillis = new java.lang.Long("10000");
+    private java.lang.Boolean deadlineFallback = new java.lang.Boolean("false");
+    private java.lang.Long slowRequestThresholdMillis = new java.lang.Long("1000");
+    private java.lang.Boolean lazyActivation = new java.lang.Boolean("false");
+    private java.lang.Long hotNameCount = new java.lang.Long("0");
+    private java.lang.Long hotNameDecaySeconds = new java.lang.Long("10");
+    private java.lang.Long hotNameMinRate = new java.lang.Long("1");
+    private java.lang.Long hotNameSampling = new java.lang.Long("16");
+    private java.lang.Long maxBatchNames = new java.lang.Long("1000");
     //attributes end
     private org.opendaylight.controller.sal.binding.api.BindingAwareBroker brokerDependency;
+    private org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.impl.rev141210.HelloRuntimeRegistrator rootRuntimeBeanRegistratorWrapper;
 
     public AbstractHelloModule(org.opendaylight.controller.config.api.ModuleIdentifier identifier,org.opendaylight.controller.config.api.DependencyResolver dependencyResolver) {
         super(identifier, dependencyResolver);
@@ -38,6 +109,15 @@ public abstract class AbstractHelloModule extends org.opendaylight.controller.co
     protected void customValidation() {
     }
 
+    public org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.impl.rev141210.HelloRuntimeRegistrator getRootRuntimeBeanRegistratorWrapper(){
+        return rootRuntimeBeanRegistratorWrapper;
+    }
+
+    @Override
+    public void setRuntimeBeanRegistrator(org.opendaylight.controller.config.api.runtime.RootRuntimeBeanRegistrator rootRuntimeRegistrator){
+        this.rootRuntimeBeanRegistratorWrapper = new org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.impl.rev141210.HelloRuntimeRegistrator(rootRuntimeRegistrator);
+    }
+
     protected final org.opendaylight.controller.sal.binding.api.BindingAwareBroker getBrokerDependency(){
         return brokerDependency;
     }
@@ -68,6 +148,111 @@ public abstract class AbstractHelloModule extends org.opendaylight.controller.co
                 return false;
             }
         }
+        if (!java.util.Objects.deepEquals(greetingCacheSize, other.greetingCacheSize)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(operationalWritePolicy, other.operationalWritePolicy)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(writeBatchIntervalMillis, other.writeBatchIntervalMillis)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(writeBatchSize, other.writeBatchSize)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(transactionChains, other.transactionChains)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(maxRetries, other.maxRetries)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(retryInitialBackoffMillis, other.retryInitialBackoffMillis)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(maxInFlightRpcs, other.maxInFlightRpcs)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(maxQueuedRpcs, other.maxQueuedRpcs)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(commitReportIntervalSeconds, other.commitReportIntervalSeconds)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(commitFailureDetailLimit, other.commitFailureDetailLimit)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(operationalRegistryMaxEntries, other.operationalRegistryMaxEntries)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(operationalEntryTtlSeconds, other.operationalEntryTtlSeconds)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(registrySweepIntervalSeconds, other.registrySweepIntervalSeconds)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(registrySweepBatchSize, other.registrySweepBatchSize)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(registryShards, other.registryShards)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(changeNotificationBatchSize, other.changeNotificationBatchSize)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(changeNotificationWindowMillis, other.changeNotificationWindowMillis)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(getGreetingsMaxPageSize, other.getGreetingsMaxPageSize)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(callbackExecutorThreads, other.callbackExecutorThreads)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(callbackExecutorQueueSize, other.callbackExecutorQueueSize)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(callbackExecutorThreadPrefix, other.callbackExecutorThreadPrefix)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(bulkFileDirectory, other.bulkFileDirectory)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(bulkImportChunkSize, other.bulkImportChunkSize)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(coalesceCalls, other.coalesceCalls)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(coalescingWindowMillis, other.coalescingWindowMillis)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(defaultDeadlineMillis, other.defaultDeadlineMillis)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(deadlineFallback, other.deadlineFallback)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(slowRequestThresholdMillis, other.slowRequestThresholdMillis)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(lazyActivation, other.lazyActivation)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(hotNameCount, other.hotNameCount)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(hotNameDecaySeconds, other.hotNameDecaySeconds)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(hotNameMinRate, other.hotNameMinRate)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(hotNameSampling, other.hotNameSampling)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(maxBatchNames, other.maxBatchNames)) {
+            return false;
+        }
 
         return true;
     }
@@ -97,6 +282,391 @@ public abstract class AbstractHelloModule extends org.opendaylight.controller.co
         this.broker = broker;
     }
 
+    @Override
+    public java.lang.Long getGreetingCacheSize() {
+        return greetingCacheSize;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Maximum number of greeting-registry entries cached in memory, 0 disables the cache")
+    public void setGreetingCacheSize(java.lang.Long greetingCacheSize) {
+        this.greetingCacheSize = greetingCacheSize;
+    }
+
+    @Override
+    public org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.impl.rev141210.OperationalWritePolicy getOperationalWritePolicy() {
+        return operationalWritePolicy;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "When to write greetings to the operational greeting-registry")
+    public void setOperationalWritePolicy(org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.impl.rev141210.OperationalWritePolicy operationalWritePolicy) {
+        this.operationalWritePolicy = operationalWritePolicy;
+    }
+
+    @Override
+    public java.lang.Long getWriteBatchIntervalMillis() {
+        return writeBatchIntervalMillis;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Maximum time a batched operational write is held back")
+    public void setWriteBatchIntervalMillis(java.lang.Long writeBatchIntervalMillis) {
+        this.writeBatchIntervalMillis = writeBatchIntervalMillis;
+    }
+
+    @Override
+    public java.lang.Long getWriteBatchSize() {
+        return writeBatchSize;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Number of pending operational writes that triggers an early batch")
+    public void setWriteBatchSize(java.lang.Long writeBatchSize) {
+        this.writeBatchSize = writeBatchSize;
+    }
+
+    @Override
+    public java.lang.Long getTransactionChains() {
+        return transactionChains;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Number of transaction chains the greeting-registry traffic is striped over by name")
+    public void setTransactionChains(java.lang.Long transactionChains) {
+        this.transactionChains = transactionChains;
+    }
+
+    @Override
+    public java.lang.Long getMaxRetries() {
+        return maxRetries;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Number of times a failed greeting-registry read or write is re-issued")
+    public void setMaxRetries(java.lang.Long maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    @Override
+    public java.lang.Long getRetryInitialBackoffMillis() {
+        return retryInitialBackoffMillis;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Delay before the first retry, doubled for every further retry")
+    public void setRetryInitialBackoffMillis(java.lang.Long retryInitialBackoffMillis) {
+        this.retryInitialBackoffMillis = retryInitialBackoffMillis;
+    }
+
+    @Override
+    public java.lang.Long getMaxInFlightRpcs() {
+        return maxInFlightRpcs;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Maximum number of hello-world calls in progress at once, 0 means unlimited")
+    public void setMaxInFlightRpcs(java.lang.Long maxInFlightRpcs) {
+        this.maxInFlightRpcs = maxInFlightRpcs;
+    }
+
+    @Override
+    public java.lang.Long getMaxQueuedRpcs() {
+        return maxQueuedRpcs;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Number of calls over the in-flight limit that wait for a slot, 0 rejects them right away")
+    public void setMaxQueuedRpcs(java.lang.Long maxQueuedRpcs) {
+        this.maxQueuedRpcs = maxQueuedRpcs;
+    }
+
+    @Override
+    public java.lang.Long getCommitReportIntervalSeconds() {
+        return commitReportIntervalSeconds;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Interval of the summary of operational greeting-registry commit outcomes")
+    public void setCommitReportIntervalSeconds(java.lang.Long commitReportIntervalSeconds) {
+        this.commitReportIntervalSeconds = commitReportIntervalSeconds;
+    }
+
+    @Override
+    public java.lang.Long getCommitFailureDetailLimit() {
+        return commitFailureDetailLimit;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Number of commit failures per cause and interval that are logged with full detail")
+    public void setCommitFailureDetailLimit(java.lang.Long commitFailureDetailLimit) {
+        this.commitFailureDetailLimit = commitFailureDetailLimit;
+    }
+
+    @Override
+    public java.lang.Long getOperationalRegistryMaxEntries() {
+        return operationalRegistryMaxEntries;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Maximum number of operational greeting-registry entries, the least recently used are removed above it. 0 means unlimited")
+    public void setOperationalRegistryMaxEntries(java.lang.Long operationalRegistryMaxEntries) {
+        this.operationalRegistryMaxEntries = operationalRegistryMaxEntries;
+    }
+
+    @Override
+    public java.lang.Long getOperationalEntryTtlSeconds() {
+        return operationalEntryTtlSeconds;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Operational greeting-registry entries not used for this long are removed, 0 disables expiry")
+    public void setOperationalEntryTtlSeconds(java.lang.Long operationalEntryTtlSeconds) {
+        this.operationalEntryTtlSeconds = operationalEntryTtlSeconds;
+    }
+
+    @Override
+    public java.lang.Long getRegistrySweepIntervalSeconds() {
+        return registrySweepIntervalSeconds;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Interval of the sweep for expired and surplus operational greeting-registry entries")
+    public void setRegistrySweepIntervalSeconds(java.lang.Long registrySweepIntervalSeconds) {
+        this.registrySweepIntervalSeconds = registrySweepIntervalSeconds;
+    }
+
+    @Override
+    public java.lang.Long getRegistrySweepBatchSize() {
+        return registrySweepBatchSize;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Maximum number of entries removed by one sweep transaction")
+    public void setRegistrySweepBatchSize(java.lang.Long registrySweepBatchSize) {
+        this.registrySweepBatchSize = registrySweepBatchSize;
+    }
+
+    @Override
+    public java.lang.Long getRegistryShards() {
+        return registryShards;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Number of shards of the greeting registry, 0 keeps the flat layout. Entries found in another layout are moved on startup")
+    public void setRegistryShards(java.lang.Long registryShards) {
+        this.registryShards = registryShards;
+    }
+
+    @Override
+    public java.lang.Long getChangeNotificationBatchSize() {
+        return changeNotificationBatchSize;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Maximum number of changed greetings in one greetings-changed notification, a full batch is published right away. 0 disables the notifications")
+    public void setChangeNotificationBatchSize(java.lang.Long changeNotificationBatchSize) {
+        this.changeNotificationBatchSize = changeNotificationBatchSize;
+    }
+
+    @Override
+    public java.lang.Long getChangeNotificationWindowMillis() {
+        return changeNotificationWindowMillis;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Maximum time a change is held back to be coalesced with later ones")
+    public void setChangeNotificationWindowMillis(java.lang.Long changeNotificationWindowMillis) {
+        this.changeNotificationWindowMillis = changeNotificationWindowMillis;
+    }
+
+    @Override
+    public java.lang.Long getGetGreetingsMaxPageSize() {
+        return getGreetingsMaxPageSize;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Maximum number of greetings returned by one get-greetings call")
+    public void setGetGreetingsMaxPageSize(java.lang.Long getGreetingsMaxPageSize) {
+        this.getGreetingsMaxPageSize = getGreetingsMaxPageSize;
+    }
+
+    @Override
+    public java.lang.Long getCallbackExecutorThreads() {
+        return callbackExecutorThreads;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Number of threads running the continuations of hello calls")
+    public void setCallbackExecutorThreads(java.lang.Long callbackExecutorThreads) {
+        this.callbackExecutorThreads = callbackExecutorThreads;
+    }
+
+    @Override
+    public java.lang.Long getCallbackExecutorQueueSize() {
+        return callbackExecutorQueueSize;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Number of continuations waiting for a thread, further ones run on the completing thread")
+    public void setCallbackExecutorQueueSize(java.lang.Long callbackExecutorQueueSize) {
+        this.callbackExecutorQueueSize = callbackExecutorQueueSize;
+    }
+
+    @Override
+    public java.lang.String getCallbackExecutorThreadPrefix() {
+        return callbackExecutorThreadPrefix;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Name prefix of the continuation threads")
+    public void setCallbackExecutorThreadPrefix(java.lang.String callbackExecutorThreadPrefix) {
+        this.callbackExecutorThreadPrefix = callbackExecutorThreadPrefix;
+    }
+
+    @Override
+    public java.lang.String getBulkFileDirectory() {
+        return bulkFileDirectory;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Directory export-greetings and import-greetings files are confined to, relative to the working directory of the controller unless absolute")
+    public void setBulkFileDirectory(java.lang.String bulkFileDirectory) {
+        this.bulkFileDirectory = bulkFileDirectory;
+    }
+
+    @Override
+    public java.lang.Long getBulkImportChunkSize() {
+        return bulkImportChunkSize;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Maximum number of entries put into the registry by one import transaction")
+    public void setBulkImportChunkSize(java.lang.Long bulkImportChunkSize) {
+        this.bulkImportChunkSize = bulkImportChunkSize;
+    }
+
+    @Override
+    public java.lang.Boolean getCoalesceCalls() {
+        return coalesceCalls;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Whether concurrent hello-world calls for the same name share one registry read and write")
+    public void setCoalesceCalls(java.lang.Boolean coalesceCalls) {
+        this.coalesceCalls = coalesceCalls;
+    }
+
+    @Override
+    public java.lang.Long getCoalescingWindowMillis() {
+        return coalescingWindowMillis;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "How long the greeting of a coalesced call is handed to further calls for the name after it completed, 0 shares it only with calls arriving while it is in progress")
+    public void setCoalescingWindowMillis(java.lang.Long coalescingWindowMillis) {
+        this.coalescingWindowMillis = coalescingWindowMillis;
+    }
+
+    @Override
+    public java.lang.Long getDefaultDeadlineMillis() {
+        return defaultDeadlineMillis;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Time a hello-world call may take unless it sets its own deadline, 0 waits indefinitely")
+    public void setDefaultDeadlineMillis(java.lang.Long defaultDeadlineMillis) {
+        this.defaultDeadlineMillis = defaultDeadlineMillis;
+    }
+
+    @Override
+    public java.lang.Boolean getDeadlineFallback() {
+        return deadlineFallback;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Whether a call that misses its deadline is answered with the default greeting instead of failing")
+    public void setDeadlineFallback(java.lang.Boolean deadlineFallback) {
+        this.deadlineFallback = deadlineFallback;
+    }
+
+    @Override
+    public java.lang.Long getSlowRequestThresholdMillis() {
+        return slowRequestThresholdMillis;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "hello-world calls taking longer are logged with the time spent in each phase, 0 logs none")
+    public void setSlowRequestThresholdMillis(java.lang.Long slowRequestThresholdMillis) {
+        this.slowRequestThresholdMillis = slowRequestThresholdMillis;
+    }
+
+    @Override
+    public java.lang.Boolean getLazyActivation() {
+        return lazyActivation;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Whether the greeting registry, its transaction chains and listeners are only set up by the first call instead of at startup")
+    public void setLazyActivation(java.lang.Boolean lazyActivation) {
+        this.lazyActivation = lazyActivation;
+    }
+
+    @Override
+    public java.lang.Long getHotNameCount() {
+        return hotNameCount;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Number of most called names tracked and pinned in the greeting cache, 0 disables the tracking")
+    public void setHotNameCount(java.lang.Long hotNameCount) {
+        this.hotNameCount = hotNameCount;
+    }
+
+    @Override
+    public java.lang.Long getHotNameDecaySeconds() {
+        return hotNameDecaySeconds;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Seconds between halvings of the hot-name call counts, which also rank and pin the hot names")
+    public void setHotNameDecaySeconds(java.lang.Long hotNameDecaySeconds) {
+        this.hotNameDecaySeconds = hotNameDecaySeconds;
+    }
+
+    @Override
+    public java.lang.Long getHotNameMinRate() {
+        return hotNameMinRate;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Estimated calls per second a tracked name needs to be pinned in the greeting cache")
+    public void setHotNameMinRate(java.lang.Long hotNameMinRate) {
+        this.hotNameMinRate = hotNameMinRate;
+    }
+
+    @Override
+    public java.lang.Long getHotNameSampling() {
+        return hotNameSampling;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "One in this many calls is counted by the hot-name tracking, at random, 1 counts every call")
+    public void setHotNameSampling(java.lang.Long hotNameSampling) {
+        this.hotNameSampling = hotNameSampling;
+    }
+
+    @Override
+    public java.lang.Long getMaxBatchNames() {
+        return maxBatchNames;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Maximum number of distinct names of one hello-world-batch call, which takes a single in-flight slot whatever its size")
+    public void setMaxBatchNames(java.lang.Long maxBatchNames) {
+        this.maxBatchNames = maxBatchNames;
+    }
+
     public org.slf4j.Logger getLogger() {
         return LOGGER;
     }
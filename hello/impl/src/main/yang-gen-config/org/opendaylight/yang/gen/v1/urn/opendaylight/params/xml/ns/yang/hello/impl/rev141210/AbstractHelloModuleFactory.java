@@ -54,6 +54,41 @@ public abstract class AbstractHelloModuleFactory implements org.opendaylight.con
         }
         org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.impl.rev141210.HelloModule module = instantiateModule(instanceName, dependencyResolver, oldModule, old.getInstance(), bundleContext);
         module.setBroker(oldModule.getBroker());
+        module.setGreetingCacheSize(oldModule.getGreetingCacheSize());
+        module.setOperationalWritePolicy(oldModule.getOperationalWritePolicy());
+        module.setWriteBatchIntervalMillis(oldModule.getWriteBatchIntervalMillis());
+        module.setWriteBatchSize(oldModule.getWriteBatchSize());
+        module.setTransactionChains(oldModule.getTransactionChains());
+        module.setMaxRetries(oldModule.getMaxRetries());
+        module.setRetryInitialBackoffMillis(oldModule.getRetryInitialBackoffMillis());
+        module.setMaxInFlightRpcs(oldModule.getMaxInFlightRpcs());
+        module.setMaxQueuedRpcs(oldModule.getMaxQueuedRpcs());
+        module.setCommitReportIntervalSeconds(oldModule.getCommitReportIntervalSeconds());
+        module.setCommitFailureDetailLimit(oldModule.getCommitFailureDetailLimit());
+        module.setOperationalRegistryMaxEntries(oldModule.getOperationalRegistryMaxEntries());
+        module.setOperationalEntryTtlSeconds(oldModule.getOperationalEntryTtlSeconds());
+        module.setRegistrySweepIntervalSeconds(oldModule.getRegistrySweepIntervalSeconds());
+        module.setRegistrySweepBatchSize(oldModule.getRegistrySweepBatchSize());
+        module.setRegistryShards(oldModule.getRegistryShards());
+        module.setChangeNotificationBatchSize(oldModule.getChangeNotificationBatchSize());
+        module.setChangeNotificationWindowMillis(oldModule.getChangeNotificationWindowMillis());
+        module.setGetGreetingsMaxPageSize(oldModule.getGetGreetingsMaxPageSize());
+        module.setCallbackExecutorThreads(oldModule.getCallbackExecutorThreads());
+        module.setCallbackExecutorQueueSize(oldModule.getCallbackExecutorQueueSize());
+        module.setCallbackExecutorThreadPrefix(oldModule.getCallbackExecutorThreadPrefix());
+        module.setBulkFileDirectory(oldModule.getBulkFileDirectory());
+        module.setBulkImportChunkSize(oldModule.getBulkImportChunkSize());
+        module.setCoalesceCalls(oldModule.getCoalesceCalls());
+        module.setCoalescingWindowMillis(oldModule.getCoalescingWindowMillis());
+        module.setDefaultDeadlineMillis(oldModule.getDefaultDeadlineMillis());
+        module.setDeadlineFallback(oldModule.getDeadlineFallback());
+        module.setSlowRequestThresholdMillis(oldModule.getSlowRequestThresholdMillis());
+        module.setLazyActivation(oldModule.getLazyActivation());
+        module.setHotNameCount(oldModule.getHotNameCount());
+        module.setHotNameDecaySeconds(oldModule.getHotNameDecaySeconds());
+        module.setHotNameMinRate(oldModule.getHotNameMinRate());
+        module.setHotNameSampling(oldModule.getHotNameSampling());
+        module.setMaxBatchNames(oldModule.getMaxBatchNames());
 
         return module;
     }
@@ -13,4 +13,179 @@ public interface HelloModuleMXBean {
 
     public void setBroker(javax.management.ObjectName broker);
 
+    public java.lang.Long getGreetingCacheSize();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Maximum number of greeting-registry entries cached in memory, 0 disables the cache")
+    public void setGreetingCacheSize(java.lang.Long greetingCacheSize);
+
+    public org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.impl.rev141210.OperationalWritePolicy getOperationalWritePolicy();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "When to write greetings to the operational greeting-registry")
+    public void setOperationalWritePolicy(org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.impl.rev141210.OperationalWritePolicy operationalWritePolicy);
+
+    public java.lang.Long getWriteBatchIntervalMillis();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Maximum time a batched operational write is held back")
+    public void setWriteBatchIntervalMillis(java.lang.Long writeBatchIntervalMillis);
+
+    public java.lang.Long getWriteBatchSize();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Number of pending operational writes that triggers an early batch")
+    public void setWriteBatchSize(java.lang.Long writeBatchSize);
+
+    public java.lang.Long getTransactionChains();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Number of transaction chains the greeting-registry traffic is striped over by name")
+    public void setTransactionChains(java.lang.Long transactionChains);
+
+    public java.lang.Long getMaxRetries();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Number of times a failed greeting-registry read or write is re-issued")
+    public void setMaxRetries(java.lang.Long maxRetries);
+
+    public java.lang.Long getRetryInitialBackoffMillis();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Delay before the first retry, doubled for every further retry")
+    public void setRetryInitialBackoffMillis(java.lang.Long retryInitialBackoffMillis);
+
+    public java.lang.Long getMaxInFlightRpcs();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Maximum number of hello-world calls in progress at once, 0 means unlimited")
+    public void setMaxInFlightRpcs(java.lang.Long maxInFlightRpcs);
+
+    public java.lang.Long getMaxQueuedRpcs();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Number of calls over the in-flight limit that wait for a slot, 0 rejects them right away")
+    public void setMaxQueuedRpcs(java.lang.Long maxQueuedRpcs);
+
+    public java.lang.Long getCommitReportIntervalSeconds();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Interval of the summary of operational greeting-registry commit outcomes")
+    public void setCommitReportIntervalSeconds(java.lang.Long commitReportIntervalSeconds);
+
+    public java.lang.Long getCommitFailureDetailLimit();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Number of commit failures per cause and interval that are logged with full detail")
+    public void setCommitFailureDetailLimit(java.lang.Long commitFailureDetailLimit);
+
+    public java.lang.Long getOperationalRegistryMaxEntries();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Maximum number of operational greeting-registry entries, the least recently used are removed above it. 0 means unlimited")
+    public void setOperationalRegistryMaxEntries(java.lang.Long operationalRegistryMaxEntries);
+
+    public java.lang.Long getOperationalEntryTtlSeconds();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Operational greeting-registry entries not used for this long are removed, 0 disables expiry")
+    public void setOperationalEntryTtlSeconds(java.lang.Long operationalEntryTtlSeconds);
+
+    public java.lang.Long getRegistrySweepIntervalSeconds();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Interval of the sweep for expired and surplus operational greeting-registry entries")
+    public void setRegistrySweepIntervalSeconds(java.lang.Long registrySweepIntervalSeconds);
+
+    public java.lang.Long getRegistrySweepBatchSize();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Maximum number of entries removed by one sweep transaction")
+    public void setRegistrySweepBatchSize(java.lang.Long registrySweepBatchSize);
+
+    public java.lang.Long getRegistryShards();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Number of shards of the greeting registry, 0 keeps the flat layout. Entries found in another layout are moved on startup")
+    public void setRegistryShards(java.lang.Long registryShards);
+
+    public java.lang.Long getChangeNotificationBatchSize();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Maximum number of changed greetings in one greetings-changed notification, a full batch is published right away. 0 disables the notifications")
+    public void setChangeNotificationBatchSize(java.lang.Long changeNotificationBatchSize);
+
+    public java.lang.Long getChangeNotificationWindowMillis();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Maximum time a change is held back to be coalesced with later ones")
+    public void setChangeNotificationWindowMillis(java.lang.Long changeNotificationWindowMillis);
+
+    public java.lang.Long getGetGreetingsMaxPageSize();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Maximum number of greetings returned by one get-greetings call")
+    public void setGetGreetingsMaxPageSize(java.lang.Long getGreetingsMaxPageSize);
+
+    public java.lang.Long getCallbackExecutorThreads();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Number of threads running the continuations of hello calls")
+    public void setCallbackExecutorThreads(java.lang.Long callbackExecutorThreads);
+
+    public java.lang.Long getCallbackExecutorQueueSize();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Number of continuations waiting for a thread, further ones run on the completing thread")
+    public void setCallbackExecutorQueueSize(java.lang.Long callbackExecutorQueueSize);
+
+    public java.lang.String getCallbackExecutorThreadPrefix();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Name prefix of the continuation threads")
+    public void setCallbackExecutorThreadPrefix(java.lang.String callbackExecutorThreadPrefix);
+
+    public java.lang.String getBulkFileDirectory();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Directory export-greetings and import-greetings files are confined to, relative to the working directory of the controller unless absolute")
+    public void setBulkFileDirectory(java.lang.String bulkFileDirectory);
+
+    public java.lang.Long getBulkImportChunkSize();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Maximum number of entries put into the registry by one import transaction")
+    public void setBulkImportChunkSize(java.lang.Long bulkImportChunkSize);
+
+    public java.lang.Boolean getCoalesceCalls();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Whether concurrent hello-world calls for the same name share one registry read and write")
+    public void setCoalesceCalls(java.lang.Boolean coalesceCalls);
+
+    public java.lang.Long getCoalescingWindowMillis();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "How long the greeting of a coalesced call is handed to further calls for the name after it completed, 0 shares it only with calls arriving while it is in progress")
+    public void setCoalescingWindowMillis(java.lang.Long coalescingWindowMillis);
+
+    public java.lang.Long getDefaultDeadlineMillis();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Time a hello-world call may take unless it sets its own deadline, 0 waits indefinitely")
+    public void setDefaultDeadlineMillis(java.lang.Long defaultDeadlineMillis);
+
+    public java.lang.Boolean getDeadlineFallback();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Whether a call that misses its deadline is answered with the default greeting instead of failing")
+    public void setDeadlineFallback(java.lang.Boolean deadlineFallback);
+
+    public java.lang.Long getSlowRequestThresholdMillis();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "hello-world calls taking longer are logged with the time spent in each phase, 0 logs none")
+    public void setSlowRequestThresholdMillis(java.lang.Long slowRequestThresholdMillis);
+
+    public java.lang.Boolean getLazyActivation();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Whether the greeting registry, its transaction chains and listeners are only set up by the first call instead of at startup")
+    public void setLazyActivation(java.lang.Boolean lazyActivation);
+
+    public java.lang.Long getHotNameCount();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Number of most called names tracked and pinned in the greeting cache, 0 disables the tracking")
+    public void setHotNameCount(java.lang.Long hotNameCount);
+
+    public java.lang.Long getHotNameDecaySeconds();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Seconds between halvings of the hot-name call counts, which also rank and pin the hot names")
+    public void setHotNameDecaySeconds(java.lang.Long hotNameDecaySeconds);
+
+    public java.lang.Long getHotNameMinRate();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Estimated calls per second a tracked name needs to be pinned in the greeting cache")
+    public void setHotNameMinRate(java.lang.Long hotNameMinRate);
+
+    public java.lang.Long getHotNameSampling();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "One in this many calls is counted by the hot-name tracking, at random, 1 counts every call")
+    public void setHotNameSampling(java.lang.Long hotNameSampling);
+
+    public java.lang.Long getMaxBatchNames();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Maximum number of distinct names of one hello-world-batch call, which takes a single in-flight slot whatever its size")
+    public void setMaxBatchNames(java.lang.Long maxBatchNames);
+
 }
@@ -0,0 +1,72 @@
+/*
+* Generated file
+*
+* Generated from: yang module name: hello-impl yang module local name: hello
+* Generated by: org.opendaylight.controller.config.yangjmxgenerator.plugin.JMXGenerator
+* Generated at: Fri Feb 19 16:29:34 IST 2016
+*
+* Do not modify this file unless it is present under src/main directory
+*/
+package org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.impl.rev141210;
+public interface HelloRuntimeMXBean extends org.opendaylight.controller.config.api.runtime.RuntimeBean {
+    public java.lang.Long getConfigReadLatencyP50Micros();
+
+    public java.lang.Long getConfigReadLatencyP99Micros();
+
+    public java.lang.Long getConfigReadLatencyP999Micros();
+
+    public java.lang.Long getOperationalCommitLatencyP50Micros();
+
+    public java.lang.Long getOperationalCommitLatencyP99Micros();
+
+    public java.lang.Long getOperationalCommitLatencyP999Micros();
+
+    public java.lang.Long getRpcLatencyP50Micros();
+
+    public java.lang.Long getRpcLatencyP99Micros();
+
+    public java.lang.Long getRpcLatencyP999Micros();
+
+    public java.math.BigInteger getRpcSuccesses();
+
+    public java.math.BigInteger getRpcFailures();
+
+    public java.math.BigInteger getChainRestarts();
+
+    public java.lang.Long getInFlightFutures();
+
+    public java.lang.Long getQueuedRpcs();
+
+    public java.math.BigInteger getRejectedRpcs();
+
+    public java.lang.Long getOperationalRegistryEntries();
+
+    public java.math.BigInteger getRegistryExpiredEvictions();
+
+    public java.math.BigInteger getRegistrySizeEvictions();
+
+    public java.math.BigInteger getChangeNotificationsPublished();
+
+    public java.math.BigInteger getChangeNotificationsRejected();
+
+    public java.lang.Long getReverseIndexGreetings();
+
+    public java.lang.Long getReverseIndexNames();
+
+    public java.math.BigInteger getReverseIndexEstimatedBytes();
+
+    public java.lang.Long getCallbackQueueDepth();
+
+    public java.math.BigInteger getCallbackCallerRuns();
+
+    public java.math.BigInteger getCollapsedRpcs();
+
+    public java.math.BigInteger getExpiredRpcs();
+
+    public java.math.BigInteger getFallbackRpcs();
+
+    public java.math.BigInteger getSlowRpcs();
+
+    public java.util.List<java.lang.String> getHotNames();
+
+}
@@ -0,0 +1,29 @@
+/*
+* Generated file
+*
+* Generated from: yang module name: hello-impl yang module local name: hello
+* Generated by: org.opendaylight.controller.config.yangjmxgenerator.plugin.JMXGenerator
+* Generated at: Fri Feb 19 16:29:34 IST 2016
+*
+* Do not modify this file unless it is present under src/main directory
+*/
+package org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.impl.rev141210;
+public class HelloRuntimeRegistrator implements java.lang.AutoCloseable {
+
+    private final org.opendaylight.controller.config.api.runtime.RootRuntimeBeanRegistrator rootRuntimeBeanRegistrator;
+
+    public HelloRuntimeRegistrator(org.opendaylight.controller.config.api.runtime.RootRuntimeBeanRegistrator rootRuntimeBeanRegistrator) {
+        this.rootRuntimeBeanRegistrator = rootRuntimeBeanRegistrator;
+    }
+
+    public HelloRuntimeRegistration register(HelloRuntimeMXBean mxBean) {
+        org.opendaylight.controller.config.api.runtime.HierarchicalRuntimeBeanRegistration registration = rootRuntimeBeanRegistrator.registerRoot(mxBean);
+        return new HelloRuntimeRegistration(registration);
+    }
+
+    @Override
+    public void close() {
+        rootRuntimeBeanRegistrator.close();
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.DataObjectModification;
+import org.opendaylight.controller.md.sal.binding.api.DataObjectModification.ModificationType;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeModification;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryEntryFields;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntryBuilder;
+
+public class GreetingRegistryWaiterTest {
+
+    @Test
+    public void testChangeCompletesOnlyWaitersOfItsName() throws Exception {
+        try (GreetingRegistryWaiter waiter = new GreetingRegistryWaiter(mock(DataBroker.class))) {
+            Future<GreetingRegistryEntry> first = waiter.waitFor("Jesus");
+            Future<GreetingRegistryEntry> second = waiter.waitFor("Jesus");
+            Future<GreetingRegistryEntry> other = waiter.waitFor("Sebastian");
+            GreetingRegistryEntry entry = new GreetingRegistryEntryBuilder()
+                    .setName("Jesus")
+                    .setGreeting("Hola Jesus")
+                    .build();
+
+            waiter.onDataTreeChanged(Collections.singletonList(modification(entry)));
+            assertEquals(entry, first.get());
+            assertEquals(entry, second.get());
+            assertFalse(other.isDone());
+            assertEquals(1, waiter.size());
+
+            other.cancel(false);
+            assertEquals(0, waiter.size());
+        }
+    }
+
+    @Test
+    public void testTimeoutRemovesWaiter() throws Exception {
+        try (GreetingRegistryWaiter waiter = new GreetingRegistryWaiter(mock(DataBroker.class))) {
+            Future<GreetingRegistryEntry> future = waiter.waitFor("Jesus", 10, TimeUnit.MILLISECONDS);
+            try {
+                future.get(5, TimeUnit.SECONDS);
+                fail("Expected the wait to time out");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof TimeoutException);
+            }
+            assertEquals(0, waiter.size());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static DataTreeModification<GreetingRegistryEntryFields> modification(GreetingRegistryEntry entry) {
+        DataObjectModification<GreetingRegistryEntryFields> node = mock(DataObjectModification.class);
+        when(node.getModificationType()).thenReturn(ModificationType.WRITE);
+        when(node.getDataAfter()).thenReturn(entry);
+        DataTreeModification<GreetingRegistryEntryFields> change = mock(DataTreeModification.class);
+        when(change.getRootNode()).thenReturn(node);
+        return change;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntryBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntryKey;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+public class RegistryLayoutTest {
+    private static final GreetingRegistryEntry JESUS = new GreetingRegistryEntryBuilder()
+            .setName("Jesus")
+            .setGreeting("Hola Jesus")
+            .build();
+
+    @Test
+    public void testFlatLayoutPutsEntriesInGreetingRegistry() {
+        RegistryLayout layout = RegistryLayout.of(0);
+        assertSame(RegistryLayout.FLAT, layout);
+        assertFalse(layout.isSharded());
+        assertEquals(0, layout.shardOf("Jesus"));
+        InstanceIdentifier<GreetingRegistryEntry> path = InstanceIdentifier.create(GreetingRegistry.class)
+                .child(GreetingRegistryEntry.class, new GreetingRegistryEntryKey("Jesus"));
+        assertEquals(path, layout.entryPath("Jesus"));
+
+        WriteTransaction transaction = mock(WriteTransaction.class);
+        layout.put(transaction, LogicalDatastoreType.CONFIGURATION, ShardEntries.of(JESUS));
+        verify(transaction).put(LogicalDatastoreType.CONFIGURATION, path, JESUS);
+    }
+
+    @Test
+    public void testShardedLayoutPutsEntriesInShardOfName() {
+        RegistryLayout layout = RegistryLayout.of(4);
+        assertTrue(layout.isSharded());
+        for (String name : new String[] {"Jesus", "Jose", "Juan", "Julia", "Sebastian", "Alice"}) {
+            int shard = layout.shardOf(name);
+            assertTrue(shard >= 0 && shard < 4);
+            assertEquals(shard, RegistryLayout.of(4).shardOf(name));
+            assertEquals(ShardEntries.path(shard, name), layout.entryPath(name));
+        }
+
+        WriteTransaction transaction = mock(WriteTransaction.class);
+        layout.put(transaction, LogicalDatastoreType.CONFIGURATION, JESUS);
+        verify(transaction).put(LogicalDatastoreType.CONFIGURATION, ShardEntries.path(layout.shardOf("Jesus"), "Jesus"),
+                ShardEntries.of(JESUS));
+    }
+
+    @Test
+    public void testShardEntryReturnedAsFlatEntry() {
+        assertSame(JESUS, RegistryLayout.toFlat(JESUS));
+        assertEquals(JESUS, RegistryLayout.toFlat(ShardEntries.of(JESUS)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeShardCountRejected() {
+        RegistryLayout.of(-1);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class AdmissionControllerTest {
+
+    @Test
+    public void testQueuedCallStartsOnRelease() {
+        HelloMetrics metrics = new HelloMetrics();
+        AdmissionController admission = new AdmissionController(1, 1, metrics);
+        final AtomicInteger started = new AtomicInteger();
+        Runnable start = new Runnable() {
+            @Override
+            public void run() {
+                started.incrementAndGet();
+            }
+        };
+
+        assertTrue(admission.tryAdmit());
+        assertFalse(admission.tryAdmit());
+        assertTrue(admission.enqueue(start));
+        assertEquals(0, started.get());
+        assertEquals(Long.valueOf(1), metrics.getQueuedRpcs());
+
+        admission.release();
+        assertEquals(1, started.get());
+        assertEquals(Long.valueOf(0), metrics.getQueuedRpcs());
+        // the queued call now holds the only slot
+        assertFalse(admission.tryAdmit());
+    }
+
+    @Test
+    public void testQueuedCallsCompletingSynchronouslyDoNotNest() {
+        HelloMetrics metrics = new HelloMetrics();
+        final AdmissionController admission = new AdmissionController(1, 100000, metrics);
+        final AtomicInteger started = new AtomicInteger();
+        Runnable start = new Runnable() {
+            @Override
+            public void run() {
+                started.incrementAndGet();
+                // answered from the cache, the slot is released before run() returns
+                admission.release();
+            }
+        };
+
+        assertTrue(admission.tryAdmit());
+        for (int i = 0; i < 100000; i++) {
+            assertTrue(admission.enqueue(start));
+        }
+        admission.release();
+        assertEquals(100000, started.get());
+        assertEquals(Long.valueOf(0), metrics.getQueuedRpcs());
+        assertTrue(admission.tryAdmit());
+        assertFalse(admission.tryAdmit());
+    }
+
+    @Test
+    public void testRejectsWhenQueueIsFull() {
+        HelloMetrics metrics = new HelloMetrics();
+        AdmissionController admission = new AdmissionController(1, 0, metrics);
+        Runnable start = new Runnable() {
+            @Override
+            public void run() {
+            }
+        };
+
+        assertTrue(admission.tryAdmit());
+        assertFalse(admission.enqueue(start));
+        assertEquals(BigInteger.ONE, metrics.getRejectedRpcs());
+        admission.release();
+        assertTrue(admission.tryAdmit());
+    }
+
+    @Test
+    public void testUnlimitedAlwaysAdmits() {
+        AdmissionController admission = new AdmissionController(0, 0, new HelloMetrics());
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(admission.tryAdmit());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldOutputBuilder;
+import org.opendaylight.yangtools.yang.common.RpcError.ErrorType;
+import org.opendaylight.yangtools.yang.common.RpcResult;
+import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
+
+public class CallCoalescerTest {
+
+    @Test
+    public void testConcurrentCallsShareOneResult() throws Exception {
+        HelloMetrics metrics = new HelloMetrics();
+        CallCoalescer<String, String> coalescer = new CallCoalescer<>(metrics, 0, result -> true);
+        final AtomicInteger started = new AtomicInteger();
+        final SettableFuture<String> call = SettableFuture.create();
+
+        ListenableFuture<String> first = coalescer.call("Jesus", () -> {
+            started.incrementAndGet();
+            return call;
+        });
+        ListenableFuture<String> second = coalescer.call("Jesus", () -> {
+            started.incrementAndGet();
+            return SettableFuture.create();
+        });
+        assertEquals(1, started.get());
+        assertEquals(BigInteger.ONE, metrics.getCollapsedRpcs());
+
+        // one caller giving up does not affect the other
+        second.cancel(false);
+        call.set("Hola Jesus");
+        assertEquals("Hola Jesus", first.get());
+        assertEquals(0, coalescer.size());
+
+        coalescer.call("Jesus", () -> {
+            started.incrementAndGet();
+            return SettableFuture.create();
+        });
+        assertEquals(2, started.get());
+        coalescer.close();
+    }
+
+    @Test
+    public void testWindowOnlyKeepsReusableResults() throws Exception {
+        HelloMetrics metrics = new HelloMetrics();
+        CallCoalescer<String, String> coalescer = new CallCoalescer<>(metrics, 3600000, result -> !result.isEmpty());
+        SettableFuture<String> failed = SettableFuture.create();
+        coalescer.call("Jesus", () -> failed);
+        failed.set("");
+        assertEquals(0, coalescer.size());
+
+        SettableFuture<String> succeeded = SettableFuture.create();
+        coalescer.call("Jesus", () -> succeeded);
+        succeeded.set("Hola Jesus");
+        assertEquals(1, coalescer.size());
+        ListenableFuture<String> reused = coalescer.call("Jesus", () -> {
+            throw new AssertionError("Expected the result within the window to be reused");
+        });
+        assertTrue(reused.isDone());
+        assertEquals("Hola Jesus", reused.get());
+        assertFalse(reused.isCancelled());
+        coalescer.close();
+    }
+
+    @Test
+    public void testDeadlineFallbackIsNotReused() {
+        CallCoalescer<String, RpcResult<HelloWorldOutput>> coalescer =
+                new CallCoalescer<>(new HelloMetrics(), 3600000, HelloWorldImpl::isReusable);
+        HelloWorldOutput output = new HelloWorldOutputBuilder().setGreeting("Hello Jesus").build();
+        SettableFuture<RpcResult<HelloWorldOutput>> expired = SettableFuture.create();
+        coalescer.call("Jesus", () -> expired);
+        expired.set(RpcResultBuilder.success(output)
+                .withWarning(ErrorType.APPLICATION, "partial-operation", "Answered with the default greeting")
+                .build());
+        assertEquals(0, coalescer.size());
+
+        SettableFuture<RpcResult<HelloWorldOutput>> answered = SettableFuture.create();
+        coalescer.call("Jesus", () -> answered);
+        answered.set(RpcResultBuilder.success(output).build());
+        assertEquals(1, coalescer.size());
+        coalescer.close();
+    }
+
+    @Test
+    public void testOnlyCallsWithTheSameDeadlineShared() {
+        long defaultDeadline = 10000;
+        Object implicit = HelloWorldImpl.coalescingKey(input(null), defaultDeadline);
+        assertEquals(implicit, HelloWorldImpl.coalescingKey(input(defaultDeadline), defaultDeadline));
+        Object shorter = HelloWorldImpl.coalescingKey(input(50L), defaultDeadline);
+        assertFalse(implicit.equals(shorter));
+        assertEquals(shorter, HelloWorldImpl.coalescingKey(input(50L), defaultDeadline));
+        // waiting indefinitely does not join a call that may give up
+        assertFalse(implicit.equals(HelloWorldImpl.coalescingKey(input(0L), defaultDeadline)));
+    }
+
+    private static HelloWorldInput input(Long deadlineMillis) {
+        return new HelloWorldInputBuilder().setName("Jesus").setDeadlineMillis(deadlineMillis).build();
+    }
+}
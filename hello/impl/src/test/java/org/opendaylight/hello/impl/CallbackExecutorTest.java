@@ -0,0 +1,43 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Function;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class CallbackExecutorTest {
+
+    @Test
+    public void testCallbacksRunAfterClose() throws Exception {
+        HelloMetrics metrics = new HelloMetrics();
+        CallbackExecutor callbacks = new CallbackExecutor(1, 1, "hello-callback-test", metrics);
+        SettableFuture<String> read = SettableFuture.create();
+        ListenableFuture<String> output = Futures.transform(read, new Function<String, String>() {
+            @Override
+            public String apply(String greeting) {
+                return greeting + "!";
+            }
+        }, callbacks);
+        callbacks.close();
+        assertTrue(callbacks.isShutdown());
+
+        // the read completing after close still completes the call
+        read.set("Hello");
+        assertEquals("Hello!", output.get(1, TimeUnit.SECONDS));
+        assertEquals(BigInteger.ONE, metrics.getCallbackCallerRuns());
+        assertEquals(Long.valueOf(0), metrics.getCallbackQueueDepth());
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.opendaylight.hello.impl.RegistryChanges.deleted;
+import static org.opendaylight.hello.impl.RegistryChanges.written;
+
+import java.util.Collections;
+import java.util.Map;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntryBuilder;
+
+public class GreetingCacheTest {
+    private static final String NAME = "Jesus";
+
+    @Test
+    public void testDisabledCacheAlwaysMisses() {
+        GreetingCache cache = new GreetingCache(mock(DataBroker.class), 0);
+        cache.put(NAME, CompiledGreeting.DEFAULT, cache.generation());
+        assertNull(cache.getIfPresent(NAME));
+        cache.close();
+    }
+
+    @Test
+    public void testReadThroughPopulates() {
+        GreetingCache cache = new GreetingCache(mock(DataBroker.class), 10);
+        assertNull(cache.getIfPresent(NAME));
+        cache.put(NAME, CompiledGreeting.DEFAULT, cache.generation());
+        assertFalse(cache.getIfPresent(NAME).isProgrammed());
+    }
+
+    @Test
+    public void testChangeDuringReadIsNotOverwritten() {
+        GreetingCache cache = new GreetingCache(mock(DataBroker.class), 10);
+        long readGeneration = cache.generation();
+        GreetingRegistryEntry entry = new GreetingRegistryEntryBuilder()
+                .setName(NAME)
+                .setGreeting("Hola " + NAME)
+                .build();
+        cache.onDataTreeChanged(Collections.singletonList(written(entry)));
+
+        // the stale read result must not replace the entry delivered by the listener
+        cache.put(NAME, CompiledGreeting.DEFAULT, readGeneration);
+        assertEquals("Hola " + NAME, cache.getIfPresent(NAME).render(NAME));
+
+        cache.onDataTreeChanged(Collections.singletonList(deleted(entry)));
+        assertFalse(cache.getIfPresent(NAME).isProgrammed());
+    }
+
+    @Test
+    public void testTemplateRendering() {
+        Map<String, String> variables = Collections.singletonMap("site", "OpenDaylight");
+        CompiledGreeting greeting = CompiledGreeting.compile("Hola {name}, welcome to {site} {unknown}", variables);
+        assertEquals("Hola Jesus, welcome to OpenDaylight {unknown}", greeting.render(NAME));
+        assertEquals("Hello " + NAME, CompiledGreeting.DEFAULT.render(NAME));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMalformedTemplateRejected() {
+        CompiledGreeting.compile("Hola {Name", Collections.<String, String>emptyMap());
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.opendaylight.hello.impl.RegistryChanges.deleted;
+import static org.opendaylight.hello.impl.RegistryChanges.entry;
+import static org.opendaylight.hello.impl.RegistryChanges.replaced;
+import static org.opendaylight.hello.impl.RegistryChanges.written;
+
+import com.google.common.util.concurrent.Futures;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeModification;
+import org.opendaylight.controller.md.sal.binding.api.NotificationPublishService;
+import org.opendaylight.hello.RegistryLayout;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryEntryFields;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingsChanged;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greetings.changed.ChangedGreeting;
+import org.opendaylight.yangtools.yang.binding.Notification;
+
+public class GreetingChangePublisherTest {
+
+    @Test
+    public void testChangesCoalescedPerNameUntilBatchIsFull() throws Exception {
+        NotificationPublishService publishService = mock(NotificationPublishService.class);
+        when(publishService.offerNotification(any(Notification.class)))
+                .thenAnswer(invocation -> Futures.immediateFuture(null));
+        HelloMetrics metrics = new HelloMetrics();
+        // the long window keeps the scheduled flush out of the way, only a full batch is published
+        GreetingChangePublisher publisher = new GreetingChangePublisher(mock(DataBroker.class), RegistryLayout.FLAT,
+                publishService, metrics, 2, 3600000);
+
+        publisher.onDataTreeChanged(Arrays.asList(write("Jesus", "Hello Jesus"), write("Jesus", "Hola Jesus")));
+        verify(publishService, never()).offerNotification(any(Notification.class));
+
+        publisher.onDataTreeChanged(Arrays.asList(delete("Sebastian")));
+        ArgumentCaptor<GreetingsChanged> captor = ArgumentCaptor.forClass(GreetingsChanged.class);
+        verify(publishService).offerNotification(captor.capture());
+        GreetingsChanged notification = captor.getValue();
+        assertEquals(BigInteger.ONE, notification.getSequence());
+        List<ChangedGreeting> changed = notification.getChangedGreeting();
+        assertEquals(2, changed.size());
+        assertEquals("Jesus", changed.get(0).getName());
+        assertEquals("Hola Jesus", changed.get(0).getGreeting());
+        assertFalse(changed.get(0).isRemoved());
+        assertEquals("Sebastian", changed.get(1).getName());
+        assertNull(changed.get(1).getGreeting());
+        assertTrue(changed.get(1).isRemoved());
+        assertEquals(BigInteger.ONE, metrics.getChangeNotificationsPublished());
+        publisher.close();
+    }
+
+    @Test
+    public void testRejectedNotificationCounted() throws Exception {
+        NotificationPublishService publishService = mock(NotificationPublishService.class);
+        when(publishService.offerNotification(any(Notification.class)))
+                .thenAnswer(invocation -> NotificationPublishService.REJECTED);
+        HelloMetrics metrics = new HelloMetrics();
+        GreetingChangePublisher publisher = new GreetingChangePublisher(mock(DataBroker.class), RegistryLayout.FLAT,
+                publishService, metrics, 1000, 3600000);
+
+        publisher.onDataTreeChanged(Arrays.asList(write("Jesus", "Hello Jesus")));
+        publisher.flush();
+        assertEquals(BigInteger.ONE, metrics.getChangeNotificationsRejected());
+        assertEquals(BigInteger.ZERO, metrics.getChangeNotificationsPublished());
+        publisher.close();
+    }
+
+    @Test
+    public void testUnchangedGreetingNotReported() throws Exception {
+        NotificationPublishService publishService = mock(NotificationPublishService.class);
+        when(publishService.offerNotification(any(Notification.class)))
+                .thenAnswer(invocation -> Futures.immediateFuture(null));
+        GreetingChangePublisher publisher = new GreetingChangePublisher(mock(DataBroker.class), RegistryLayout.FLAT,
+                publishService, new HelloMetrics(), 1, 3600000);
+
+        publisher.onDataTreeChanged(Arrays.asList(
+                replaced(entry("Jesus", "Hello Jesus"), entry("Jesus", "Hello Jesus"))));
+        verify(publishService, never()).offerNotification(any(Notification.class));
+
+        publisher.onDataTreeChanged(Arrays.asList(
+                replaced(entry("Jesus", "Hello Jesus"), entry("Jesus", "Hola Jesus"))));
+        verify(publishService).offerNotification(any(Notification.class));
+        publisher.close();
+    }
+
+    private static DataTreeModification<GreetingRegistryEntryFields> write(String name, String greeting) {
+        return written(entry(name, greeting));
+    }
+
+    private static DataTreeModification<GreetingRegistryEntryFields> delete(String name) {
+        return deleted(entry(name, "Hello"));
+    }
+}
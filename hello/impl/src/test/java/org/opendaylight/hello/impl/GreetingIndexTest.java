@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.opendaylight.hello.impl.RegistryChanges.deleted;
+import static org.opendaylight.hello.impl.RegistryChanges.entry;
+import static org.opendaylight.hello.impl.RegistryChanges.written;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeModification;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.hello.RegistryLayout;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GetGreetingsOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryEntryFields;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.get.greetings.output.Greetings;
+
+public class GreetingIndexTest {
+
+    @Test
+    public void testPagesOfPrefixFollowContinuationToken() {
+        GreetingIndex index = new GreetingIndex(mock(DataBroker.class), RegistryLayout.FLAT,
+                LogicalDatastoreType.OPERATIONAL);
+        index.onDataTreeChanged(Arrays.asList(write("Jesus"), write("Jose"), write("Juan"), write("Julia"),
+                write("Sebastian"), write("Alice")));
+        index.onDataTreeChanged(Arrays.asList(delete("Juan")));
+
+        GetGreetingsOutput first = index.page("J", null, 2);
+        assertEquals(Arrays.asList("Jesus", "Jose"), names(first));
+        assertEquals("Hello Jesus", first.getGreetings().get(0).getGreeting());
+        assertNotNull(first.getContinuationToken());
+
+        GetGreetingsOutput second = index.page("J", first.getContinuationToken(), 2);
+        assertEquals(Arrays.asList("Julia"), names(second));
+        assertNull(second.getContinuationToken());
+
+        assertEquals(5, index.page(null, null, 10).getGreetings().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMalformedTokenRejected() {
+        GreetingIndex index = new GreetingIndex(mock(DataBroker.class), RegistryLayout.FLAT,
+                LogicalDatastoreType.OPERATIONAL);
+        index.page(null, "not a token!", 10);
+    }
+
+    @Test
+    public void testOnlyProgrammedGreetingsShared() {
+        GreetingIndex programmed = new GreetingIndex(mock(DataBroker.class), RegistryLayout.FLAT,
+                LogicalDatastoreType.CONFIGURATION);
+        programmed.onDataTreeChanged(Arrays.asList(written(entry("Jesus", new String("Hola"))),
+                written(entry("Jose", new String("Hola")))));
+        List<Greetings> shared = programmed.page(null, null, 10).getGreetings();
+        assertSame(shared.get(0).getGreeting(), shared.get(1).getGreeting());
+
+        GreetingIndex operational = new GreetingIndex(mock(DataBroker.class), RegistryLayout.FLAT,
+                LogicalDatastoreType.OPERATIONAL);
+        operational.onDataTreeChanged(Arrays.asList(written(entry("Jesus", new String("Hola"))),
+                written(entry("Jose", new String("Hola")))));
+        List<Greetings> unshared = operational.page(null, null, 10).getGreetings();
+        assertEquals(unshared.get(0).getGreeting(), unshared.get(1).getGreeting());
+        assertNotSame(unshared.get(0).getGreeting(), unshared.get(1).getGreeting());
+    }
+
+    private static List<String> names(GetGreetingsOutput output) {
+        List<String> names = new ArrayList<>();
+        for (Greetings greetings : output.getGreetings()) {
+            names.add(greetings.getName());
+        }
+        return names;
+    }
+
+    private static DataTreeModification<GreetingRegistryEntryFields> write(String name) {
+        return written(entry(name, "Hello " + name));
+    }
+
+    private static DataTreeModification<GreetingRegistryEntryFields> delete(String name) {
+        return deleted(entry(name, "Hello " + name));
+    }
+}
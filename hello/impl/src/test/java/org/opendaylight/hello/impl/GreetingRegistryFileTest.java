@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+import com.google.common.base.Strings;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingTemplate;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntryBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.entry.fields.TemplateVariableBuilder;
+
+public class GreetingRegistryFileTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testEntriesSurviveRoundTrip() throws Exception {
+        GreetingRegistryEntry literal = new GreetingRegistryEntryBuilder()
+                .setName("Jesus")
+                .setGreeting("Hola Jesus")
+                .build();
+        GreetingRegistryEntry template = new GreetingRegistryEntryBuilder()
+                .setName("Sebastian")
+                .setGreetingTemplate(new GreetingTemplate("Hallo {name}, welcome to {site}"))
+                .setTemplateVariable(Arrays.asList(new TemplateVariableBuilder()
+                        .setName("site")
+                        .setValue("OpenDaylight")
+                        .build()))
+                .build();
+        // longer than the write buffer, so it bypasses it
+        GreetingRegistryEntry large = new GreetingRegistryEntryBuilder()
+                .setName("Left")
+                .setGreeting(Strings.repeat("¡Hola! ", 20000))
+                .build();
+        Path file = folder.getRoot().toPath().resolve("registry.bin");
+        try (GreetingRegistryFile.Writer writer = new GreetingRegistryFile.Writer(file)) {
+            writer.write(literal);
+            writer.write(template);
+            writer.write(large);
+            assertEquals(3, writer.getEntries());
+        }
+
+        try (GreetingRegistryFile.Reader reader = new GreetingRegistryFile.Reader(file)) {
+            assertEquals(literal, reader.next());
+            assertEquals(template, reader.next());
+            assertEquals(large, reader.next());
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test
+    public void testTruncatedFileRejected() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("registry.bin");
+        try (GreetingRegistryFile.Writer writer = new GreetingRegistryFile.Writer(file)) {
+            writer.write(new GreetingRegistryEntryBuilder().setName("Jesus").setGreeting("Hola Jesus").build());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        try (GreetingRegistryFile.Reader reader = new GreetingRegistryFile.Reader(file)) {
+            reader.next();
+            fail("Expected the truncated entry to be rejected");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+}
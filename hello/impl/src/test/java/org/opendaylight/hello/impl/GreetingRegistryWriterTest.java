@@ -0,0 +1,177 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.util.concurrent.CheckedFuture;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
+import org.opendaylight.hello.RegistryLayout;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntryBuilder;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+public class GreetingRegistryWriterTest {
+    private static final String NAME = "Jesus";
+    private static final GreetingRegistryEntry HELLO = entry("Hello " + NAME);
+    private static final GreetingRegistryEntry HOLA = entry("Hola " + NAME);
+    private final List<Consumer<WriteTransaction>> submitted = new ArrayList<>();
+    private final List<CheckedFuture<Void, TransactionCommitFailedException>> outcomes = new ArrayList<>();
+    private final List<Runnable> retries = new ArrayList<>();
+    private TransactionChainPool chains;
+    private RetryPolicy retryPolicy;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        chains = mock(TransactionChainPool.class);
+        when(chains.size()).thenReturn(1);
+        when(chains.stripeOf(anyString())).thenReturn(0);
+        when(chains.layout()).thenReturn(RegistryLayout.FLAT);
+        // the transactions are populated by the test, in the order it chooses
+        when(chains.submit(anyInt(), any(Consumer.class))).thenAnswer(invocation -> {
+            submitted.add((Consumer<WriteTransaction>) invocation.getArguments()[1]);
+            return outcomes.isEmpty()
+                    ? Futures.<Void, TransactionCommitFailedException>immediateCheckedFuture(null)
+                    : outcomes.remove(0);
+        });
+        retryPolicy = mock(RetryPolicy.class);
+        when(retryPolicy.retry(anyInt(), any(Runnable.class))).thenAnswer(invocation -> {
+            retries.add((Runnable) invocation.getArguments()[1]);
+            return true;
+        });
+    }
+
+    private GreetingRegistryWriter writer(WritePolicy policy) {
+        RegistrySweeper sweeper = mock(RegistrySweeper.class);
+        when(sweeper.touch(anyString())).thenReturn(true);
+        return new GreetingRegistryWriter(chains, retryPolicy, new HelloMetrics(), mock(CommitOutcomeReporter.class),
+                sweeper, MoreExecutors.directExecutor(), policy, 0, 1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testOvertakenSubmissionDoesNotOverwriteNewerGreeting() {
+        GreetingRegistryWriter writer = writer(WritePolicy.ALWAYS);
+        writer.write(HELLO);
+        writer.write(HOLA);
+        assertEquals(2, submitted.size());
+
+        // the newer submission got hold of the stripe first
+        WriteTransaction newer = mock(WriteTransaction.class);
+        submitted.get(1).accept(newer);
+        WriteTransaction older = mock(WriteTransaction.class);
+        submitted.get(0).accept(older);
+        verify(newer).put(eq(LogicalDatastoreType.OPERATIONAL), any(InstanceIdentifier.class), eq(HOLA));
+        verifyNoPut(older);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRetryOfSupersededSubmissionSkipped() {
+        outcomes.add(Futures.<Void, TransactionCommitFailedException>immediateFailedCheckedFuture(
+                new TransactionCommitFailedException("Chain failed")));
+        GreetingRegistryWriter writer = writer(WritePolicy.ALWAYS);
+        writer.write(HELLO);
+        assertEquals(1, retries.size());
+        writer.write(HOLA);
+
+        retries.get(0).run();
+        verify(chains, times(2)).submit(anyInt(), any(Consumer.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRetryWritesGreetingNotWrittenSince() {
+        outcomes.add(Futures.<Void, TransactionCommitFailedException>immediateFailedCheckedFuture(
+                new TransactionCommitFailedException("Chain failed")));
+        GreetingRegistryWriter writer = writer(WritePolicy.ALWAYS);
+        writer.write(HELLO);
+        retries.get(0).run();
+        assertEquals(2, submitted.size());
+
+        WriteTransaction retried = mock(WriteTransaction.class);
+        submitted.get(1).accept(retried);
+        verify(retried).put(eq(LogicalDatastoreType.OPERATIONAL), any(InstanceIdentifier.class), eq(HELLO));
+    }
+
+    @Test
+    public void testUnchangedGreetingWrittenAgainOnlyAfterFailure() {
+        outcomes.add(Futures.<Void, TransactionCommitFailedException>immediateFailedCheckedFuture(
+                new TransactionCommitFailedException("Chain failed")));
+        when(retryPolicy.retry(anyInt(), any(Runnable.class))).thenReturn(false);
+        GreetingRegistryWriter writer = writer(WritePolicy.ON_CHANGE);
+        writer.write(HELLO);
+        // the failed write is forgotten, so the unchanged greeting is written again
+        writer.write(HELLO);
+        writer.write(HELLO);
+        assertEquals(2, submitted.size());
+        writer.write(HOLA);
+        assertEquals(3, submitted.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testWriteAllSubmitsOneTransactionPerStripe() {
+        when(chains.size()).thenReturn(2);
+        when(chains.stripeOf("Jesus")).thenReturn(0);
+        when(chains.stripeOf("Jose")).thenReturn(0);
+        when(chains.stripeOf("Sebastian")).thenReturn(1);
+        GreetingRegistryEntry jose = entry("Jose", "Hola Jose");
+        GreetingRegistryEntry sebastian = entry("Sebastian", "Hi Sebastian");
+        writer(WritePolicy.ALWAYS).writeAll(Arrays.asList(HELLO, sebastian, jose));
+        verify(chains).submit(eq(0), any(Consumer.class));
+        verify(chains).submit(eq(1), any(Consumer.class));
+        assertEquals(2, submitted.size());
+
+        WriteTransaction first = mock(WriteTransaction.class);
+        submitted.get(0).accept(first);
+        verify(first).put(eq(LogicalDatastoreType.OPERATIONAL), any(InstanceIdentifier.class), eq(HELLO));
+        verify(first).put(eq(LogicalDatastoreType.OPERATIONAL), any(InstanceIdentifier.class), eq(jose));
+        WriteTransaction second = mock(WriteTransaction.class);
+        submitted.get(1).accept(second);
+        verify(second).put(eq(LogicalDatastoreType.OPERATIONAL), any(InstanceIdentifier.class), eq(sebastian));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void verifyNoPut(WriteTransaction transaction) {
+        verify(transaction, never()).put(any(LogicalDatastoreType.class), any(InstanceIdentifier.class),
+                any(DataObject.class));
+    }
+
+    private static GreetingRegistryEntry entry(String greeting) {
+        return entry(NAME, greeting);
+    }
+
+    private static GreetingRegistryEntry entry(String name, String greeting) {
+        return new GreetingRegistryEntryBuilder()
+                .setName(name)
+                .setGreeting(greeting)
+                .build();
+    }
+}
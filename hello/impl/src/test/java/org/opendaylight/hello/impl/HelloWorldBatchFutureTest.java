@@ -0,0 +1,172 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.opendaylight.hello.impl.RegistryChanges.entry;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.hello.RegistryLayout;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryEntryFields;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldBatchInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldBatchOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.hello.world.batch.output.Greetings;
+import org.opendaylight.yangtools.yang.common.RpcResult;
+
+public class HelloWorldBatchFutureTest {
+    private HelloWorldImpl service;
+    private GreetingCache cache;
+    private TransactionChainPool chains;
+    private ReadOnlyTransaction read;
+    private GreetingRegistryWriter writer;
+    private AdmissionController admission;
+    private ScheduledExecutorService deadlines;
+
+    @Before
+    public void setUp() {
+        service = mock(HelloWorldImpl.class);
+        cache = new GreetingCache(mock(DataBroker.class), 10);
+        chains = mock(TransactionChainPool.class);
+        read = mock(ReadOnlyTransaction.class);
+        when(chains.layout()).thenReturn(RegistryLayout.FLAT);
+        when(chains.stripeOf(anyString())).thenReturn(0);
+        when(chains.newReadOnlyTransaction(anyInt())).thenReturn(read);
+        writer = mock(GreetingRegistryWriter.class);
+        admission = mock(AdmissionController.class);
+        deadlines = mock(ScheduledExecutorService.class);
+        doReturn(mock(ScheduledFuture.class)).when(deadlines).schedule(any(Runnable.class), anyLong(),
+                any(TimeUnit.class));
+        RetryPolicy retries = mock(RetryPolicy.class);
+        CallbackExecutor callbacks = mock(CallbackExecutor.class);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        }).when(callbacks).execute(any(Runnable.class));
+        when(service.cache()).thenReturn(cache);
+        when(service.chains()).thenReturn(chains);
+        when(service.writer()).thenReturn(writer);
+        when(service.admission()).thenReturn(admission);
+        when(service.deadlines()).thenReturn(deadlines);
+        when(service.defaultDeadlineMillis()).thenReturn(1000L);
+        when(service.retries()).thenReturn(retries);
+        when(service.callbacks()).thenReturn(callbacks);
+        when(service.metrics()).thenReturn(new HelloMetrics());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCacheHitsAndFailedReadsAnsweredPerName() throws Exception {
+        cache.put("Jesus", CompiledGreeting.of(Optional.of(entry("Jesus", "Hola Jesus"))), cache.generation());
+        doReturn(Futures.immediateCheckedFuture(Optional.of(entry("Sebastian", "Hi Sebastian")))).when(read)
+                .read(LogicalDatastoreType.CONFIGURATION, RegistryLayout.FLAT.entryPath("Sebastian"));
+        doReturn(Futures.immediateFailedCheckedFuture(new ReadFailedException("Read failed"))).when(read)
+                .read(LogicalDatastoreType.CONFIGURATION, RegistryLayout.FLAT.entryPath("Alice"));
+        HelloWorldBatchFuture future = batch(null, "Jesus", "Sebastian", "Alice", "Jesus");
+        assertEquals(3, future.size());
+        future.start();
+
+        RpcResult<HelloWorldBatchOutput> result = future.get(0, TimeUnit.SECONDS);
+        assertTrue(result.isSuccessful());
+        List<Greetings> greetings = result.getResult().getGreetings();
+        assertEquals(3, greetings.size());
+        assertEquals("Hola Jesus", greetings.get(0).getGreeting());
+        assertEquals("Hi Sebastian", greetings.get(1).getGreeting());
+        assertEquals("Alice", greetings.get(2).getName());
+        assertNull(greetings.get(2).getGreeting());
+        assertNotNull(greetings.get(2).getErrorMessage());
+
+        // the cache hit is not read, the misses share one transaction
+        verify(read, never()).read(LogicalDatastoreType.CONFIGURATION, RegistryLayout.FLAT.entryPath("Jesus"));
+        verify(chains).newReadOnlyTransaction(0);
+        verify(read).close();
+        ArgumentCaptor<Collection> written = ArgumentCaptor.forClass(Collection.class);
+        verify(writer).writeAll(written.capture());
+        assertEquals(Arrays.asList(entry("Jesus", "Hola Jesus"), entry("Sebastian", "Hi Sebastian")),
+                written.getValue());
+        verify(admission).release();
+    }
+
+    @Test
+    public void testExpiredWhileQueuedNeverReads() throws Exception {
+        HelloWorldBatchFuture future = batch(50L, "Jesus");
+        future.armDeadline();
+        expire(50L);
+        assertFalse(future.get(0, TimeUnit.SECONDS).isSuccessful());
+        verify(admission).withdraw(future.startTask());
+
+        // dequeued concurrently with the deadline, the slot it was given is returned right away
+        future.startTask().run();
+        verify(admission).release();
+        verify(chains, never()).newReadOnlyTransaction(anyInt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExpiredWhileReadingReleasesSlotOnce() throws Exception {
+        SettableFuture<Optional<GreetingRegistryEntryFields>> pending = SettableFuture.create();
+        doReturn(Futures.makeChecked(pending, ReadFailedException.MAPPER)).when(read)
+                .read(LogicalDatastoreType.CONFIGURATION, RegistryLayout.FLAT.entryPath("Jesus"));
+        HelloWorldBatchFuture future = batch(null, "Jesus");
+        future.armDeadline();
+        future.start();
+        assertFalse(future.isDone());
+
+        expire(1000L);
+        assertFalse(future.get(0, TimeUnit.SECONDS).isSuccessful());
+        verify(read).close();
+        verify(admission).release();
+
+        // the read completing late neither answers nor returns the slot again
+        pending.set(Optional.<GreetingRegistryEntryFields>absent());
+        verify(admission).release();
+        verify(writer, never()).writeAll(any(Collection.class));
+    }
+
+    private void expire(long millis) {
+        ArgumentCaptor<Runnable> deadline = ArgumentCaptor.forClass(Runnable.class);
+        verify(deadlines).schedule(deadline.capture(), eq(millis), eq(TimeUnit.MILLISECONDS));
+        deadline.getValue().run();
+    }
+
+    private HelloWorldBatchFuture batch(Long deadlineMillis, String... names) {
+        return new HelloWorldBatchFuture(service, new HelloWorldBatchInputBuilder()
+                .setNames(Arrays.asList(names))
+                .setDeadlineMillis(deadlineMillis)
+                .build());
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.opendaylight.hello.impl.RegistryChanges.entry;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+import java.math.BigInteger;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.md.sal.common.api.data.ReadFailedException;
+import org.opendaylight.hello.RegistryLayout;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryEntryFields;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldInputBuilder;
+
+public class HelloWorldFutureTest {
+    private HelloWorldImpl service;
+    private GreetingCache cache;
+    private ReadOnlyTransaction read;
+    private ScheduledExecutorService deadlines;
+    private HelloMetrics metrics;
+
+    @Before
+    public void setUp() {
+        service = mock(HelloWorldImpl.class);
+        cache = new GreetingCache(mock(DataBroker.class), 10);
+        TransactionChainPool chains = mock(TransactionChainPool.class);
+        read = mock(ReadOnlyTransaction.class);
+        when(chains.layout()).thenReturn(RegistryLayout.FLAT);
+        when(chains.stripeOf(anyString())).thenReturn(0);
+        when(chains.newReadOnlyTransaction(anyInt())).thenReturn(read);
+        deadlines = mock(ScheduledExecutorService.class);
+        doReturn(mock(ScheduledFuture.class)).when(deadlines).schedule(any(Runnable.class), anyLong(),
+                any(TimeUnit.class));
+        CallbackExecutor callbacks = mock(CallbackExecutor.class);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        }).when(callbacks).execute(any(Runnable.class));
+        metrics = new HelloMetrics();
+        when(service.cache()).thenReturn(cache);
+        when(service.chains()).thenReturn(chains);
+        when(service.writer()).thenReturn(mock(GreetingRegistryWriter.class));
+        when(service.admission()).thenReturn(mock(AdmissionController.class));
+        when(service.deadlines()).thenReturn(deadlines);
+        when(service.defaultDeadlineMillis()).thenReturn(1000L);
+        when(service.retries()).thenReturn(mock(RetryPolicy.class));
+        when(service.callbacks()).thenReturn(callbacks);
+        when(service.metrics()).thenReturn(metrics);
+    }
+
+    @Test
+    public void testFastCallNotLogged() throws Exception {
+        when(service.slowRequestThresholdNanos()).thenReturn(TimeUnit.HOURS.toNanos(1));
+        cache.put("Jesus", CompiledGreeting.of(Optional.of(entry("Jesus", "Hola Jesus"))), cache.generation());
+        HelloWorldFuture future = call();
+        future.start();
+        assertTrue(future.get(0, TimeUnit.SECONDS).isSuccessful());
+        assertEquals(BigInteger.ZERO, metrics.getSlowRpcs());
+    }
+
+    @Test
+    public void testSlowCallLoggedOnce() throws Exception {
+        when(service.slowRequestThresholdNanos()).thenReturn(TimeUnit.MILLISECONDS.toNanos(1));
+        SettableFuture<Optional<GreetingRegistryEntryFields>> pending = pendingRead();
+        HelloWorldFuture future = call();
+        future.start();
+        Thread.sleep(5);
+
+        pending.set(Optional.of((GreetingRegistryEntryFields) entry("Jesus", "Hola Jesus")));
+        assertTrue(future.get(0, TimeUnit.SECONDS).isSuccessful());
+        assertEquals(BigInteger.ONE, metrics.getSlowRpcs());
+    }
+
+    @Test
+    public void testExpiredSlowCallLoggedOnce() throws Exception {
+        when(service.slowRequestThresholdNanos()).thenReturn(TimeUnit.MILLISECONDS.toNanos(1));
+        SettableFuture<Optional<GreetingRegistryEntryFields>> pending = pendingRead();
+        HelloWorldFuture future = call();
+        future.armDeadline();
+        future.start();
+        Thread.sleep(5);
+
+        // the deadline thread logs the phases the read thread went through
+        ArgumentCaptor<Runnable> deadline = ArgumentCaptor.forClass(Runnable.class);
+        verify(deadlines).schedule(deadline.capture(), eq(1000L), eq(TimeUnit.MILLISECONDS));
+        Thread expiry = new Thread(deadline.getValue());
+        expiry.start();
+        expiry.join();
+        assertFalse(future.get(0, TimeUnit.SECONDS).isSuccessful());
+        assertEquals(BigInteger.ONE, metrics.getSlowRpcs());
+
+        // the read completing late does not log the call again
+        pending.set(Optional.<GreetingRegistryEntryFields>absent());
+        assertEquals(BigInteger.ONE, metrics.getSlowRpcs());
+    }
+
+    @SuppressWarnings("unchecked")
+    private SettableFuture<Optional<GreetingRegistryEntryFields>> pendingRead() {
+        SettableFuture<Optional<GreetingRegistryEntryFields>> pending = SettableFuture.create();
+        doReturn(Futures.makeChecked(pending, ReadFailedException.MAPPER)).when(read)
+                .read(LogicalDatastoreType.CONFIGURATION, RegistryLayout.FLAT.entryPath("Jesus"));
+        return pending;
+    }
+
+    private HelloWorldFuture call() {
+        return new HelloWorldFuture(service, new HelloWorldInputBuilder()
+                .setName("Jesus")
+                .build());
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldOutput;
+
+public class HotNameTrackerTest {
+    private static final String NAME = "Jesus";
+    // long enough for the test to decay by hand
+    private static final long DECAY_SECONDS = 3600;
+
+    @Test
+    public void testHottestNameRankedFirstAndPinned() {
+        GreetingCache cache = new GreetingCache(mock(DataBroker.class), 10);
+        HelloMetrics metrics = new HelloMetrics();
+        // 100 calls in a decay period reach the minimum rate, 10 do not
+        HotNameTracker tracker = new HotNameTracker(cache, metrics, 2, DECAY_SECONDS, 100.0 / (2 * DECAY_SECONDS), 1);
+        for (int i = 0; i < 100; i++) {
+            tracker.record(NAME);
+            if (i % 10 == 0) {
+                tracker.record("Maria");
+            }
+            tracker.record("Cold " + i);
+        }
+        assertEquals(100, tracker.estimate(NAME));
+
+        tracker.decay();
+        List<String> hotNames = metrics.getHotNames();
+        assertEquals(2, hotNames.size());
+        assertTrue(hotNames.get(0), hotNames.get(0).startsWith(NAME + "="));
+        assertTrue(hotNames.get(1), hotNames.get(1).startsWith("Maria="));
+        assertEquals(1, cache.pinnedSize());
+        assertEquals(50, tracker.estimate(NAME));
+
+        tracker.close();
+        assertEquals(0, cache.pinnedSize());
+    }
+
+    @Test
+    public void testSampledCallsScaledToRate() {
+        GreetingCache cache = new GreetingCache(mock(DataBroker.class), 10);
+        HelloMetrics metrics = new HelloMetrics();
+        HotNameTracker tracker = new HotNameTracker(cache, metrics, 2, DECAY_SECONDS, 0, 4);
+        for (int i = 0; i < 40000; i++) {
+            tracker.record(NAME);
+        }
+        // 10000 sampled calls expected, with a standard deviation below 100
+        long estimate = tracker.estimate(NAME);
+        assertTrue(String.valueOf(estimate), estimate > 9000 && estimate < 11000);
+
+        tracker.decay();
+        String rate = metrics.getHotNames().get(0);
+        double calls = Double.parseDouble(rate.substring(rate.indexOf('=') + 1)) * 2 * DECAY_SECONDS;
+        assertEquals(estimate * 4, calls, 0.1 * 2 * DECAY_SECONDS);
+        tracker.close();
+    }
+
+    @Test
+    public void testPinnedOutputReusedUntilGreetingChanges() {
+        GreetingCache cache = new GreetingCache(mock(DataBroker.class), 10);
+        cache.put(NAME, CompiledGreeting.DEFAULT, cache.generation());
+        HelloWorldOutput unpinned = cache.output(NAME, CompiledGreeting.DEFAULT);
+        assertNotSame(unpinned, cache.output(NAME, CompiledGreeting.DEFAULT));
+
+        cache.pin(Collections.singleton(NAME));
+        HelloWorldOutput pinned = cache.output(NAME, cache.getIfPresent(NAME));
+        assertSame(pinned, cache.output(NAME, cache.getIfPresent(NAME)));
+        assertEquals(unpinned.getGreeting(), pinned.getGreeting());
+
+        CompiledGreeting changed = CompiledGreeting.compile("Hola {name}", Collections.<String, String>emptyMap());
+        cache.put(NAME, changed, cache.generation());
+        assertEquals("Hola " + NAME, cache.output(NAME, cache.getIfPresent(NAME)).getGreeting());
+    }
+}
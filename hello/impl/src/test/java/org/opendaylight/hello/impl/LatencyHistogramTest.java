@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBucketBoundsContainValue() {
+        for (long value : new long[] {0, 1, 3, 4, 7, 8, 9, 1000, 123456789, Long.MAX_VALUE}) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(value + " above its bucket", value <= LatencyHistogram.upperBoundOf(bucket));
+            if (bucket > 0) {
+                assertTrue(value + " below its bucket", value > LatencyHistogram.upperBoundOf(bucket - 1));
+            }
+        }
+    }
+
+    @Test
+    public void testEmptyHistogramReportsZero() {
+        assertEquals(0, new LatencyHistogram().percentileMicros(0.99));
+    }
+
+    @Test
+    public void testPercentilesWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+        long p50 = histogram.percentileMicros(0.5);
+        long p99 = histogram.percentileMicros(0.99);
+        assertTrue("p50 was " + p50, p50 >= 500 && p50 <= 500 * 1.25);
+        assertTrue("p99 was " + p99, p99 >= 990 && p99 <= 990 * 1.25);
+    }
+
+    @Test
+    public void testPercentilesOfLastCompleteMinute() {
+        AtomicLong clock = new AtomicLong();
+        LatencyHistogram histogram = new LatencyHistogram(clock::get);
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+        // the minute in progress is reported until one completes
+        assertTrue(histogram.percentileMicros(0.5) >= 500);
+
+        clock.set(TimeUnit.SECONDS.toNanos(70));
+        histogram.record(TimeUnit.MICROSECONDS.toNanos(100000));
+        // however often it is read, the window does not move within the minute
+        for (int i = 0; i < 3; i++) {
+            long p99 = histogram.percentileMicros(0.99);
+            assertTrue("p99 was " + p99, p99 >= 990 && p99 <= 990 * 1.25);
+        }
+
+        clock.set(TimeUnit.SECONDS.toNanos(130));
+        long p50 = histogram.percentileMicros(0.5);
+        assertTrue("p50 was " + p50, p50 >= 100000 && p50 <= 100000 * 1.25);
+
+        clock.set(TimeUnit.MINUTES.toNanos(5));
+        assertEquals(0, histogram.percentileMicros(0.5));
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.opendaylight.hello.impl.RegistryChanges.entry;
+import static org.opendaylight.hello.impl.RegistryChanges.replaced;
+import static org.opendaylight.hello.impl.RegistryChanges.written;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeChangeListener;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeIdentifier;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
+import org.opendaylight.hello.RegistryLayout;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryEntryFields;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldOutput;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.common.RpcResult;
+import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
+
+public class LazyHelloServiceTest {
+    private static final HelloWorldInput INPUT = new HelloWorldInputBuilder().setName("Jesus").build();
+    private static final RpcResult<HelloWorldOutput> RESULT = RpcResultBuilder.<HelloWorldOutput>success().build();
+
+    @Test
+    public void testActivatedOnceByFirstCall() {
+        final HelloWorldImpl impl = mock(HelloWorldImpl.class);
+        when(impl.initialization()).thenReturn(
+                Futures.<Void, TransactionCommitFailedException>immediateCheckedFuture(null));
+        when(impl.helloWorld(INPUT)).thenReturn(Futures.immediateFuture(RESULT));
+        final AtomicInteger created = new AtomicInteger();
+        LazyHelloService service = new LazyHelloService(new Supplier<HelloWorldImpl>() {
+            @Override
+            public HelloWorldImpl get() {
+                created.incrementAndGet();
+                return impl;
+            }
+        });
+        assertFalse(service.isActivated());
+        assertEquals(0, created.get());
+
+        service.helloWorld(INPUT);
+        service.helloWorld(INPUT);
+        assertTrue(service.isActivated());
+        assertEquals(1, created.get());
+        verify(impl, times(2)).helloWorld(INPUT);
+
+        service.close();
+        verify(impl).close();
+    }
+
+    @Test
+    public void testCallsChainedOntoPendingInitialization() throws Exception {
+        HelloWorldImpl impl = mock(HelloWorldImpl.class);
+        SettableFuture<Void> initialization = SettableFuture.create();
+        when(impl.initialization()).thenReturn(initialization);
+        when(impl.helloWorld(INPUT)).thenReturn(Futures.immediateFuture(RESULT));
+        LazyHelloService service = new LazyHelloService(Suppliers.ofInstance(impl));
+
+        Future<RpcResult<HelloWorldOutput>> future = service.helloWorld(INPUT);
+        assertFalse(future.isDone());
+        assertFalse(service.isActivated());
+        verify(impl, never()).helloWorld(INPUT);
+
+        // neither blocks on the pending initialization
+        service.close();
+        verify(impl, never()).close();
+
+        initialization.set(null);
+        assertSame(RESULT, future.get());
+        verify(impl).close();
+    }
+
+    @Test
+    public void testClosedBeforeActivation() throws Exception {
+        LazyHelloService service = new LazyHelloService(new Supplier<HelloWorldImpl>() {
+            @Override
+            public HelloWorldImpl get() {
+                throw new AssertionError("Activated after close");
+            }
+        });
+        service.close();
+        try {
+            service.helloWorld(INPUT).get();
+            fail("Call answered after close");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testActivatedByRegistryChangeButNotByExistingGreetings() {
+        HelloWorldImpl impl = mock(HelloWorldImpl.class);
+        when(impl.initialization()).thenReturn(
+                Futures.<Void, TransactionCommitFailedException>immediateCheckedFuture(null));
+        DataBroker db = mock(DataBroker.class);
+        ListenerRegistration<?> registration = mock(ListenerRegistration.class);
+        doReturn(registration).when(db).registerDataTreeChangeListener(any(DataTreeIdentifier.class),
+                any(DataTreeChangeListener.class));
+        LazyHelloService service = new LazyHelloService(Suppliers.ofInstance(impl), db, RegistryLayout.FLAT);
+        ArgumentCaptor<DataTreeChangeListener> trigger = ArgumentCaptor.forClass(DataTreeChangeListener.class);
+        verify(db).registerDataTreeChangeListener(any(DataTreeIdentifier.class), trigger.capture());
+        DataTreeChangeListener<GreetingRegistryEntryFields> listener = trigger.getValue();
+
+        // greetings programmed before the restart are delivered as the initial notification
+        listener.onDataTreeChanged(Arrays.asList(written(entry("Jesus", "Hola")), written(entry("Jose", "Hola"))));
+        assertFalse(service.isActivated());
+        verify(impl, never()).initialization();
+
+        listener.onDataTreeChanged(Collections.singletonList(
+                replaced(entry("Jesus", "Hola"), entry("Jesus", "Hallo"))));
+        assertTrue(service.isActivated());
+        verify(registration).close();
+        service.close();
+        verify(impl).close();
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello.impl;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.opendaylight.controller.md.sal.binding.api.DataObjectModification;
+import org.opendaylight.controller.md.sal.binding.api.DataObjectModification.ModificationType;
+import org.opendaylight.controller.md.sal.binding.api.DataTreeModification;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryEntryFields;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntryBuilder;
+
+/**
+ * Greeting-registry changes as a data-tree change listener receives them.
+ */
+final class RegistryChanges {
+
+    private RegistryChanges() {
+    }
+
+    static GreetingRegistryEntry entry(String name, String greeting) {
+        return new GreetingRegistryEntryBuilder().setName(name).setGreeting(greeting).build();
+    }
+
+    /**
+     * An entry written where there was none, as is also the initial content of the registry.
+     */
+    static DataTreeModification<GreetingRegistryEntryFields> written(GreetingRegistryEntry after) {
+        return modification(ModificationType.WRITE, null, after);
+    }
+
+    static DataTreeModification<GreetingRegistryEntryFields> replaced(GreetingRegistryEntry before,
+            GreetingRegistryEntry after) {
+        return modification(ModificationType.WRITE, before, after);
+    }
+
+    static DataTreeModification<GreetingRegistryEntryFields> deleted(GreetingRegistryEntry before) {
+        return modification(ModificationType.DELETE, before, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static DataTreeModification<GreetingRegistryEntryFields> modification(ModificationType type,
+            GreetingRegistryEntry before, GreetingRegistryEntry after) {
+        DataObjectModification<GreetingRegistryEntryFields> node = mock(DataObjectModification.class);
+        when(node.getModificationType()).thenReturn(type);
+        when(node.getDataBefore()).thenReturn(before);
+        when(node.getDataAfter()).thenReturn(after);
+        DataTreeModification<GreetingRegistryEntryFields> change = mock(DataTreeModification.class);
+        when(change.getRootNode()).thenReturn(node);
+        return change;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello.impl;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.ReadOnlyTransaction;
+import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.hello.RegistryLayout;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryShards;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.GreetingRegistryShardsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.shards.Shard;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.shards.ShardBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.shards.ShardKey;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.shards.shard.GreetingRegistryEntry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.shards.shard.GreetingRegistryEntryBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.shards.shard.GreetingRegistryEntryKey;
+import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
+
+public class RegistryMigrationTest {
+    private static final GreetingRegistryEntry JESUS = entry("Jesus");
+    private static final GreetingRegistryEntry SEBASTIAN = entry("Sebastian");
+    private DataBroker db;
+    private ReadOnlyTransaction read;
+    private WriteTransaction transaction;
+
+    @Before
+    public void setUp() {
+        db = mock(DataBroker.class);
+        read = mock(ReadOnlyTransaction.class);
+        transaction = mock(WriteTransaction.class);
+        when(db.newReadOnlyTransaction()).thenReturn(read);
+        when(db.newWriteOnlyTransaction()).thenReturn(transaction);
+        doReturn(Futures.immediateCheckedFuture(null)).when(transaction).submit();
+    }
+
+    @Test
+    public void testFlatEntriesMovedToShards() throws Exception {
+        registry(Optional.of(new GreetingRegistryBuilder()
+                .setGreetingRegistryEntry(Arrays.asList(RegistryLayout.toFlat(JESUS), RegistryLayout.toFlat(SEBASTIAN)))
+                .build()), Optional.<GreetingRegistryShards>absent());
+        RegistryLayout layout = RegistryLayout.of(4);
+        migrate(layout);
+
+        for (GreetingRegistryEntry entry : Arrays.asList(JESUS, SEBASTIAN)) {
+            verify(transaction).delete(LogicalDatastoreType.CONFIGURATION,
+                    RegistryLayout.FLAT.entryPath(entry.getName()));
+            verify(transaction).put(LogicalDatastoreType.CONFIGURATION, shardEntryPath(
+                    layout.shardOf(entry.getName()), entry.getName()), entry);
+        }
+        verify(transaction).submit();
+    }
+
+    @Test
+    public void testShardsOutsideLayoutEmptiedAndDeleted() throws Exception {
+        RegistryLayout layout = RegistryLayout.of(2);
+        int retained = layout.shardOf(SEBASTIAN.getName());
+        registry(Optional.<GreetingRegistry>absent(), Optional.of(new GreetingRegistryShardsBuilder()
+                .setShard(Arrays.asList(shard(retained, SEBASTIAN), shard(2), shard(3, JESUS)))
+                .build()));
+        migrate(layout);
+
+        verify(transaction).delete(LogicalDatastoreType.CONFIGURATION, shardEntryPath(3, JESUS.getName()));
+        verify(transaction).put(LogicalDatastoreType.CONFIGURATION,
+                shardEntryPath(layout.shardOf(JESUS.getName()), JESUS.getName()), JESUS);
+        verify(transaction).delete(LogicalDatastoreType.CONFIGURATION, shardPath(2));
+        verify(transaction).delete(LogicalDatastoreType.CONFIGURATION, shardPath(3));
+        verify(transaction, never()).delete(LogicalDatastoreType.CONFIGURATION, shardPath(retained));
+        verify(transaction, never()).delete(LogicalDatastoreType.CONFIGURATION,
+                shardEntryPath(retained, SEBASTIAN.getName()));
+        verify(transaction).submit();
+    }
+
+    @Test
+    public void testNothingSubmittedWhenEntriesAreInLayout() throws Exception {
+        registry(Optional.of(new GreetingRegistryBuilder()
+                .setGreetingRegistryEntry(Collections.singletonList(RegistryLayout.toFlat(JESUS)))
+                .build()), Optional.<GreetingRegistryShards>absent());
+        migrate(RegistryLayout.FLAT);
+
+        verify(transaction).cancel();
+        verify(transaction, never()).submit();
+        verify(transaction, never()).delete(any(LogicalDatastoreType.class), any(InstanceIdentifier.class));
+    }
+
+    private void registry(Optional<GreetingRegistry> flat, Optional<GreetingRegistryShards> sharded) {
+        doReturn(Futures.immediateCheckedFuture(flat)).when(read)
+                .read(LogicalDatastoreType.CONFIGURATION, InstanceIdentifier.create(GreetingRegistry.class));
+        doReturn(Futures.immediateCheckedFuture(sharded)).when(read)
+                .read(LogicalDatastoreType.CONFIGURATION, InstanceIdentifier.create(GreetingRegistryShards.class));
+    }
+
+    private void migrate(RegistryLayout layout) throws Exception {
+        RegistryMigration.after(Futures.<Void>immediateFuture(null), db, layout, MoreExecutors.directExecutor())
+                .get();
+    }
+
+    private static GreetingRegistryEntry entry(String name) {
+        return new GreetingRegistryEntryBuilder()
+                .setName(name)
+                .setGreeting("Hola " + name)
+                .build();
+    }
+
+    private static Shard shard(int id, GreetingRegistryEntry... entries) {
+        return new ShardBuilder()
+                .setId((long) id)
+                .setGreetingRegistryEntry(Arrays.asList(entries))
+                .build();
+    }
+
+    private static InstanceIdentifier<Shard> shardPath(int id) {
+        return InstanceIdentifier.create(GreetingRegistryShards.class).child(Shard.class, new ShardKey((long) id));
+    }
+
+    private static InstanceIdentifier<GreetingRegistryEntry> shardEntryPath(int shard, String name) {
+        return shardPath(shard).child(GreetingRegistryEntry.class, new GreetingRegistryEntryKey(name));
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.util.concurrent.Futures;
+import java.math.BigInteger;
+import java.util.function.Consumer;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
+
+public class RegistrySweeperTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testLeastRecentlyUsedEvictedAboveMaximum() throws Exception {
+        TransactionChainPool chains = mock(TransactionChainPool.class);
+        when(chains.size()).thenReturn(1);
+        when(chains.stripeOf(anyString())).thenReturn(0);
+        when(chains.submit(anyInt(), any(Consumer.class))).thenReturn(
+                Futures.<Void, TransactionCommitFailedException>immediateCheckedFuture(null));
+        HelloMetrics metrics = new HelloMetrics();
+        // the long interval keeps the scheduled sweep out of the way, the test sweeps itself
+        RegistrySweeper sweeper = new RegistrySweeper(chains, metrics, 2, 0, 3600, 10);
+
+        assertFalse(sweeper.touch("Jesus"));
+        Thread.sleep(1);
+        assertFalse(sweeper.touch("Sebastian"));
+        Thread.sleep(1);
+        assertFalse(sweeper.touch("Left"));
+        assertTrue(sweeper.touch("Jesus"));
+
+        sweeper.sweep();
+        assertEquals(BigInteger.ONE, metrics.getRegistrySizeEvictions());
+        assertEquals(Long.valueOf(2), metrics.getOperationalRegistryEntries());
+        // the evicted entry has to be written again on its next greeting
+        assertFalse(sweeper.touch("Sebastian"));
+        assertTrue(sweeper.touch("Jesus"));
+        sweeper.close();
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.opendaylight.hello.impl.RegistryChanges.deleted;
+import static org.opendaylight.hello.impl.RegistryChanges.entry;
+import static org.opendaylight.hello.impl.RegistryChanges.replaced;
+import static org.opendaylight.hello.impl.RegistryChanges.written;
+
+import com.google.common.collect.ImmutableSet;
+import java.math.BigInteger;
+import java.util.Arrays;
+import org.junit.Test;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.hello.RegistryLayout;
+
+public class ReverseGreetingIndexTest {
+
+    @Test
+    public void testUpdateMovesNameToNewGreeting() {
+        HelloMetrics metrics = new HelloMetrics();
+        ReverseGreetingIndex index = new ReverseGreetingIndex(mock(DataBroker.class), RegistryLayout.FLAT, metrics);
+        index.onDataTreeChanged(Arrays.asList(
+                written(entry("Jesus", "Hola")),
+                written(entry("Jose", "Hola"))));
+        assertEquals(ImmutableSet.of("Jesus", "Jose"), index.namesOf("Hola"));
+        assertEquals(Long.valueOf(1), metrics.getReverseIndexGreetings());
+        BigInteger footprint = metrics.getReverseIndexEstimatedBytes();
+
+        index.onDataTreeChanged(Arrays.asList(
+                replaced(entry("Jesus", "Hola"), entry("Jesus", "Hallo")),
+                deleted(entry("Jose", "Hola"))));
+        assertTrue(index.namesOf("Hola").isEmpty());
+        assertEquals(ImmutableSet.of("Jesus"), index.namesOf("Hallo"));
+        assertEquals(Long.valueOf(1), metrics.getReverseIndexNames());
+        assertTrue(metrics.getReverseIndexEstimatedBytes().compareTo(footprint) < 0);
+        index.close();
+    }
+}
@@ -27,8 +27,7 @@ public class HelloModuleTest {
     public void testCustomValidation() {
         HelloModule module = new HelloModule(mock(ModuleIdentifier.class), mock(DependencyResolver.class));
 
-        // ensure no exceptions on validation
-        // currently this method is empty
+        // ensure no exceptions on validation of the default attribute values
         module.customValidation();
     }
 
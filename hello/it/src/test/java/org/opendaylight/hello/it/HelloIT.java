@@ -9,14 +9,25 @@ package org.opendaylight.hello.it;
 
 import static org.ops4j.pax.exam.CoreOptions.composite;
 import static org.ops4j.pax.exam.CoreOptions.maven;
+import static org.ops4j.pax.exam.CoreOptions.systemProperty;
 import static org.ops4j.pax.exam.karaf.options.KarafDistributionOption.editConfigurationFilePut;
 
 import com.google.common.util.concurrent.CheckedFuture;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.opendaylight.controller.md.sal.binding.api.DataBroker;
@@ -24,19 +35,23 @@ import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
 import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
 import org.opendaylight.controller.md.sal.common.api.data.TransactionCommitFailedException;
 import org.opendaylight.controller.mdsal.it.base.AbstractMdsalTestBase;
-import org.opendaylight.hello.GreetingRegistryDataChangeListenerFuture;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev160218.*;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev160218.greeting.registry.GreetingRegistryEntry;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev160218.greeting.registry.GreetingRegistryEntryBuilder;
-import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev160218.greeting.registry.GreetingRegistryEntryKey;
+import org.opendaylight.hello.GreetingRegistryWaiter;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.*;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntryBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntryKey;
 import org.opendaylight.yangtools.yang.binding.InstanceIdentifier;
 import org.opendaylight.yangtools.yang.common.RpcResult;
+import org.ops4j.pax.exam.Configuration;
 import org.ops4j.pax.exam.Option;
+import org.ops4j.pax.exam.OptionUtils;
 import org.ops4j.pax.exam.junit.PaxExam;
 import org.ops4j.pax.exam.karaf.options.LogLevelOption.LogLevel;
 import org.ops4j.pax.exam.options.MavenUrlReference;
 import org.ops4j.pax.exam.spi.reactors.ExamReactorStrategy;
 import org.ops4j.pax.exam.spi.reactors.PerClass;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,6 +59,14 @@ import org.slf4j.LoggerFactory;
 @ExamReactorStrategy(PerClass.class)
 public class HelloIT extends AbstractMdsalTestBase {
     private static final Logger LOG = LoggerFactory.getLogger(HelloIT.class);
+    // fails testStartupTime when exceeded, unset for no limit
+    private static final String STARTUP_MAX_MILLIS = "hello.startup.max-millis";
+    // file the startup time is appended to, to follow it across upgrades
+    private static final String STARTUP_REPORT_FILE = "hello.startup.report-file";
+    private static final long STARTUP_TIMEOUT_MILLIS = 60000;
+    // measured once per container, by whichever test runs first
+    private static long installToFirstRpcMillis = -1;
+    private static long containerStartToFirstRpcMillis = -1;
 
     @Override
     public String getModuleName() {
@@ -79,6 +102,86 @@ public class HelloIT extends AbstractMdsalTestBase {
         return option;
     }
 
+    @Override
+    @Configuration
+    public Option[] config() {
+        // the test runs inside the Karaf container, hand it the parameters given to the build
+        List<Option> options = new ArrayList<>();
+        for (String property : new String[] {STARTUP_MAX_MILLIS, STARTUP_REPORT_FILE}) {
+            String value = System.getProperty(property);
+            if (value != null) {
+                options.add(systemProperty(property).value(value));
+            }
+        }
+        return OptionUtils.combine(super.config(), options.toArray(new Option[options.size()]));
+    }
+
+    /**
+     * Measures the time from the installation of the hello bundle, done when the feature is installed, and from
+     * the start of the container until the first successful hello-world call.
+     */
+    @Before
+    public void measureStartup() throws Exception {
+        if (installToFirstRpcMillis >= 0) {
+            return;
+        }
+        Bundle bundle = findHelloBundle();
+        HelloService service = getSession().getRpcService(HelloService.class);
+        HelloWorldInput input = new HelloWorldInputBuilder()
+                .setName("startup")
+                .build();
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+        while (true) {
+            try {
+                if (service.helloWorld(input).get(1, TimeUnit.SECONDS).isSuccessful()) {
+                    break;
+                }
+            } catch (ExecutionException | TimeoutException e) {
+                LOG.debug("hello-world not available yet", e);
+            }
+            Assert.assertTrue("No successful hello-world call within " + STARTUP_TIMEOUT_MILLIS + " ms",
+                    System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+        containerStartToFirstRpcMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        installToFirstRpcMillis = System.currentTimeMillis() - bundle.getLastModified();
+        LOG.info("Startup of hello {}: {} ms from feature install and {} ms from container start to the first "
+                + "successful hello-world call", bundle.getVersion(), installToFirstRpcMillis,
+                containerStartToFirstRpcMillis);
+        String reportFile = System.getProperty(STARTUP_REPORT_FILE);
+        if (reportFile != null) {
+            report(reportFile, bundle);
+        }
+    }
+
+    private static Bundle findHelloBundle() {
+        for (Bundle bundle : FrameworkUtil.getBundle(HelloIT.class).getBundleContext().getBundles()) {
+            if (bundle.getSymbolicName() != null && bundle.getSymbolicName().endsWith("hello-impl")) {
+                return bundle;
+            }
+        }
+        throw new AssertionError("hello-impl bundle not installed");
+    }
+
+    private static void report(String reportFile, Bundle bundle) throws IOException {
+        String line = System.currentTimeMillis() + " version=" + bundle.getVersion()
+                + " install-to-first-rpc-millis=" + installToFirstRpcMillis
+                + " container-start-to-first-rpc-millis=" + containerStartToFirstRpcMillis;
+        Files.write(Paths.get(reportFile), Collections.singletonList(line), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Test
+    public void testStartupTime() {
+        Assert.assertTrue("Startup not measured", installToFirstRpcMillis >= 0);
+        Long maxMillis = Long.getLong(STARTUP_MAX_MILLIS);
+        if (maxMillis != null) {
+            Assert.assertTrue("First successful hello-world call " + installToFirstRpcMillis
+                    + " ms after feature install, expected at most " + maxMillis + " ms",
+                    installToFirstRpcMillis <= maxMillis);
+        }
+    }
+
     @Test
     public void testHelloFeatureLoad() {
         Assert.assertTrue(true);
@@ -89,10 +192,11 @@ public class HelloIT extends AbstractMdsalTestBase {
         String name = "Sebastian";
         String response = "Hello " + name;
         DataBroker db = getSession().getSALService(DataBroker.class);
-        GreetingRegistryDataChangeListenerFuture future =
-                new GreetingRegistryDataChangeListenerFuture(db, name);
-        validateGreetingRegistry(name, future);
-        validateRPCResponse(name, response);
+        try (GreetingRegistryWaiter waiter = new GreetingRegistryWaiter(db)) {
+            Future<GreetingRegistryEntry> future = waiter.waitFor(name, 1, TimeUnit.SECONDS);
+            validateRPCResponse(name, response);
+            validateGreetingRegistry(name, future);
+        }
     }
 
     private void validateRPCResponse(String name, String response) throws InterruptedException, ExecutionException {
@@ -106,9 +210,9 @@ public class HelloIT extends AbstractMdsalTestBase {
         Assert.assertEquals("Unexpected RPC response", response, outputResult.getResult().getGreeting());
     }
 
-    private void validateGreetingRegistry(String name, GreetingRegistryDataChangeListenerFuture future) throws InterruptedException, TimeoutException, ExecutionException {
-        future.get(100, TimeUnit.MILLISECONDS);
-        Assert.assertTrue(name + " not recorded in greeting registry", future.isDone());
+    private void validateGreetingRegistry(String name, Future<GreetingRegistryEntry> future) throws InterruptedException, TimeoutException, ExecutionException {
+        GreetingRegistryEntry entry = future.get(1, TimeUnit.SECONDS);
+        Assert.assertEquals(name + " not recorded in greeting registry", name, entry.getName());
     }
 
     private void programResponse(String name, String response) throws TransactionCommitFailedException {
@@ -131,9 +235,10 @@ public class HelloIT extends AbstractMdsalTestBase {
         String response = "Hola " + name;
         programResponse(name, response);
         DataBroker db = getSession().getSALService(DataBroker.class);
-        GreetingRegistryDataChangeListenerFuture future =
-                new GreetingRegistryDataChangeListenerFuture(db, name);
-        validateGreetingRegistry(name, future);
-        validateRPCResponse(name, response);
+        try (GreetingRegistryWaiter waiter = new GreetingRegistryWaiter(db)) {
+            Future<GreetingRegistryEntry> future = waiter.waitFor(name, 1, TimeUnit.SECONDS);
+            validateRPCResponse(name, response);
+            validateGreetingRegistry(name, future);
+        }
     }
 }
@@ -0,0 +1,324 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello.it;
+
+import static org.ops4j.pax.exam.CoreOptions.composite;
+import static org.ops4j.pax.exam.CoreOptions.maven;
+import static org.ops4j.pax.exam.CoreOptions.systemProperty;
+import static org.ops4j.pax.exam.karaf.options.KarafDistributionOption.editConfigurationFilePut;
+
+import com.google.common.util.concurrent.RateLimiter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.opendaylight.controller.md.sal.binding.api.DataBroker;
+import org.opendaylight.controller.md.sal.binding.api.WriteTransaction;
+import org.opendaylight.controller.md.sal.common.api.data.LogicalDatastoreType;
+import org.opendaylight.controller.mdsal.it.base.AbstractMdsalTestBase;
+import org.opendaylight.hello.RegistryLayout;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloService;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.greeting.registry.GreetingRegistryEntryBuilder;
+import org.opendaylight.yangtools.yang.common.RpcResult;
+import org.ops4j.pax.exam.Configuration;
+import org.ops4j.pax.exam.Option;
+import org.ops4j.pax.exam.OptionUtils;
+import org.ops4j.pax.exam.junit.PaxExam;
+import org.ops4j.pax.exam.karaf.options.LogLevelOption.LogLevel;
+import org.ops4j.pax.exam.options.MavenUrlReference;
+import org.ops4j.pax.exam.spi.reactors.ExamReactorStrategy;
+import org.ops4j.pax.exam.spi.reactors.PerClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Drives the hello-world RPC of the installed odl-hello feature under load and fails when the achieved
+ * throughput, latency, error rate or heap growth break their thresholds.
+ *
+ * <p>The test is not part of the default build. All parameters are system properties of the Maven build, for
+ * example {@code mvn verify -Dit.test=HelloLoadIT -Dhello.load.concurrency=64 -Dhello.load.max-p99-millis=20}.
+ * Thresholds that are not set are not checked.
+ *
+ * <p>Heap growth is measured once the latencies were summarized and their samples dropped, so that it only
+ * counts what the feature retained.
+ */
+@RunWith(PaxExam.class)
+@ExamReactorStrategy(PerClass.class)
+public class HelloLoadIT extends AbstractMdsalTestBase {
+    private static final Logger LOG = LoggerFactory.getLogger(HelloLoadIT.class);
+    private static final String PREFIX = "hello.load.";
+    private static final String DURATION_SECONDS = PREFIX + "duration-seconds";
+    private static final String WARMUP_SECONDS = PREFIX + "warmup-seconds";
+    private static final String RATE = PREFIX + "rate";
+    private static final String CONCURRENCY = PREFIX + "concurrency";
+    private static final String NAMES = PREFIX + "names";
+    private static final String PROGRAMMED_RATIO = PREFIX + "programmed-ratio";
+    private static final String CALL_TIMEOUT_MILLIS = PREFIX + "call-timeout-millis";
+    private static final String MIN_THROUGHPUT = PREFIX + "min-throughput";
+    private static final String MAX_P99_MILLIS = PREFIX + "max-p99-millis";
+    private static final String MAX_P999_MILLIS = PREFIX + "max-p999-millis";
+    private static final String MAX_ERROR_RATE = PREFIX + "max-error-rate";
+    private static final String MAX_HEAP_GROWTH_MB = PREFIX + "max-heap-growth-mb";
+    private static final List<String> PROPERTIES = Arrays.asList(DURATION_SECONDS, WARMUP_SECONDS, RATE,
+            CONCURRENCY, NAMES, PROGRAMMED_RATIO, CALL_TIMEOUT_MILLIS, MIN_THROUGHPUT, MAX_P99_MILLIS,
+            MAX_P999_MILLIS, MAX_ERROR_RATE, MAX_HEAP_GROWTH_MB);
+    private static final int PROGRAM_BATCH_SIZE = 1000;
+
+    @Override
+    public String getModuleName() {
+        return "hello";
+    }
+
+    @Override
+    public String getInstanceName() {
+        return "hello-default";
+    }
+
+    @Override
+    public MavenUrlReference getFeatureRepo() {
+        return maven()
+                .groupId("org.opendaylight.hello")
+                .artifactId("hello-features")
+                .classifier("features")
+                .type("xml")
+                .versionAsInProject();
+    }
+
+    @Override
+    public String getFeatureName() {
+        return "odl-hello";
+    }
+
+    @Override
+    public Option getLoggingOption() {
+        Option option = editConfigurationFilePut(ORG_OPS4J_PAX_LOGGING_CFG,
+                logConfiguration(HelloLoadIT.class),
+                LogLevel.INFO.name());
+        option = composite(option, super.getLoggingOption());
+        return option;
+    }
+
+    @Override
+    @Configuration
+    public Option[] config() {
+        // the test runs inside the Karaf container, hand it the parameters given to the build
+        List<Option> options = new ArrayList<>();
+        for (String property : PROPERTIES) {
+            String value = System.getProperty(property);
+            if (value != null) {
+                options.add(systemProperty(property).value(value));
+            }
+        }
+        return OptionUtils.combine(super.config(), options.toArray(new Option[options.size()]));
+    }
+
+    @Test
+    public void testLoad() throws Exception {
+        final int names = Integer.getInteger(NAMES, 10000);
+        final int programmed = (int) (names * Double.parseDouble(System.getProperty(PROGRAMMED_RATIO, "0.5")));
+        int concurrency = Integer.getInteger(CONCURRENCY, 16);
+        double rate = Double.parseDouble(System.getProperty(RATE, "0"));
+        long callTimeoutMillis = Long.getLong(CALL_TIMEOUT_MILLIS, 5000);
+        programGreetings(programmed);
+
+        HelloService service = getSession().getRpcService(HelloService.class);
+        RateLimiter limiter = rate > 0 ? RateLimiter.create(rate) : null;
+        LOG.info("Warming up");
+        run(service, names, programmed, concurrency, limiter, callTimeoutMillis, Long.getLong(WARMUP_SECONDS, 5));
+
+        long heapBefore = usedHeap();
+        long durationSeconds = Long.getLong(DURATION_SECONDS, 30);
+        LOG.info("Driving hello-world for {}s with {} callers at {} calls/s over {} names, {} of them programmed",
+                durationSeconds, concurrency, rate > 0 ? rate : "unlimited", names, programmed);
+        Summary summary = measure(service, names, programmed, concurrency, limiter, callTimeoutMillis,
+                durationSeconds);
+        long heapGrowth = usedHeap() - heapBefore;
+
+        long calls = summary.calls;
+        double throughput = calls / summary.elapsedSeconds;
+        double errorRate = calls == 0 ? 0 : (double) summary.errors / calls;
+        LOG.info("hello-world load: {} calls in {}s, {} calls/s, p50 {} ms, p99 {} ms, p99.9 {} ms, "
+                + "error rate {}, heap growth {} MB", calls, String.format("%.1f", summary.elapsedSeconds),
+                String.format("%.0f", throughput), String.format("%.3f", summary.p50),
+                String.format("%.3f", summary.p99), String.format("%.3f", summary.p999),
+                String.format("%.5f", errorRate), heapGrowth / (1024 * 1024));
+
+        Assert.assertTrue("No call completed", calls > 0);
+        checkAtLeast(MIN_THROUGHPUT, throughput);
+        checkAtMost(MAX_P99_MILLIS, summary.p99);
+        checkAtMost(MAX_P999_MILLIS, summary.p999);
+        checkAtMost(MAX_ERROR_RATE, errorRate);
+        checkAtMost(MAX_HEAP_GROWTH_MB, heapGrowth / (1024.0 * 1024.0));
+    }
+
+    private void programGreetings(int programmed) throws Exception {
+        DataBroker db = getSession().getSALService(DataBroker.class);
+        for (int from = 0; from < programmed; from += PROGRAM_BATCH_SIZE) {
+            WriteTransaction transaction = db.newWriteOnlyTransaction();
+            for (int i = from; i < Math.min(from + PROGRAM_BATCH_SIZE, programmed); i++) {
+                String name = nameOf(i);
+                RegistryLayout.FLAT.put(transaction, LogicalDatastoreType.CONFIGURATION,
+                        new GreetingRegistryEntryBuilder()
+                                .setName(name)
+                                .setGreeting(programmedGreeting(name))
+                                .build());
+            }
+            transaction.submit().checkedGet();
+        }
+    }
+
+    // the samples only live in here, so that they are garbage by the time the heap is measured
+    private static Summary measure(HelloService service, int names, int programmed, int concurrency,
+            RateLimiter limiter, long callTimeoutMillis, long durationSeconds) throws Exception {
+        long start = System.nanoTime();
+        Result result = run(service, names, programmed, concurrency, limiter, callTimeoutMillis, durationSeconds);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        long[] latencies = Arrays.copyOf(result.latencies, result.count);
+        Arrays.sort(latencies);
+        return new Summary(latencies.length + result.errors, result.errors, elapsedSeconds,
+                percentileMillis(latencies, 0.5), percentileMillis(latencies, 0.99),
+                percentileMillis(latencies, 0.999));
+    }
+
+    private static Result run(final HelloService service, final int names, final int programmed, int concurrency,
+            final RateLimiter limiter, final long callTimeoutMillis, long durationSeconds) throws Exception {
+        final long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+        ExecutorService callers = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<Result>> futures = new ArrayList<>(concurrency);
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(callers.submit(new Callable<Result>() {
+                    @Override
+                    public Result call() {
+                        Result result = new Result();
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        while (System.nanoTime() < end) {
+                            if (limiter != null) {
+                                limiter.acquire();
+                            }
+                            int index = random.nextInt(names);
+                            String name = nameOf(index);
+                            String expected = index < programmed ? programmedGreeting(name) : "Hello " + name;
+                            HelloWorldInput input = new HelloWorldInputBuilder().setName(name).build();
+                            long start = System.nanoTime();
+                            try {
+                                RpcResult<HelloWorldOutput> output =
+                                        service.helloWorld(input).get(callTimeoutMillis, TimeUnit.MILLISECONDS);
+                                if (output.isSuccessful() && expected.equals(output.getResult().getGreeting())) {
+                                    result.record(System.nanoTime() - start);
+                                } else {
+                                    result.errors++;
+                                }
+                            } catch (Exception e) {
+                                result.errors++;
+                            }
+                        }
+                        return result;
+                    }
+                }));
+            }
+            Result total = new Result();
+            for (Future<Result> future : futures) {
+                total.add(future.get());
+            }
+            return total;
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private static String nameOf(int index) {
+        return "name-" + index;
+    }
+
+    private static String programmedGreeting(String name) {
+        return "Hola " + name;
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static double percentileMillis(long[] sortedNanos, double quantile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(quantile * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(index, 0)] / 1e6;
+    }
+
+    private static void checkAtLeast(String property, double actual) {
+        String threshold = System.getProperty(property);
+        if (threshold != null) {
+            Assert.assertTrue(property + " not met: " + actual + " < " + threshold,
+                    actual >= Double.parseDouble(threshold));
+        }
+    }
+
+    private static void checkAtMost(String property, double actual) {
+        String threshold = System.getProperty(property);
+        if (threshold != null) {
+            Assert.assertTrue(property + " exceeded: " + actual + " > " + threshold,
+                    actual <= Double.parseDouble(threshold));
+        }
+    }
+
+    private static final class Summary {
+        private final long calls;
+        private final long errors;
+        private final double elapsedSeconds;
+        private final double p50;
+        private final double p99;
+        private final double p999;
+
+        Summary(long calls, long errors, double elapsedSeconds, double p50, double p99, double p999) {
+            this.calls = calls;
+            this.errors = errors;
+            this.elapsedSeconds = elapsedSeconds;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.p999 = p999;
+        }
+    }
+
+    private static final class Result {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        void add(Result other) {
+            latencies = Arrays.copyOf(latencies, count + other.count);
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+    }
+}
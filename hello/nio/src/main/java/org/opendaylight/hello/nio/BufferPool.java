@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello.nio;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Direct buffers of one size, handed back by closed connections for the next ones to reuse.
+ *
+ * <p>Only the selector thread uses the pool, so it is not synchronized. At most {@code maxIdle} buffers are kept,
+ * further ones are left to the garbage collector, as are the larger buffers that {@link #grow} allocates.
+ */
+final class BufferPool {
+    private final Deque<ByteBuffer> idle = new ArrayDeque<>();
+    private final int bufferSize;
+    private final int maxIdle;
+
+    BufferPool(int bufferSize, int maxIdle) {
+        this.bufferSize = bufferSize;
+        this.maxIdle = maxIdle;
+    }
+
+    ByteBuffer acquire() {
+        ByteBuffer buffer = idle.pollFirst();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    void release(ByteBuffer buffer) {
+        if (buffer.capacity() == bufferSize && idle.size() < maxIdle) {
+            buffer.clear();
+            idle.addFirst(buffer);
+        }
+    }
+
+    /**
+     * Returns a buffer of {@code size} bytes holding the bytes written to a buffer, which is released.
+     */
+    ByteBuffer grow(ByteBuffer buffer, int size) {
+        ByteBuffer grown = ByteBuffer.allocateDirect(size);
+        buffer.flip();
+        grown.put(buffer);
+        release(buffer);
+        return grown;
+    }
+
+    /**
+     * Swaps an empty buffer larger than the pooled ones for a pooled one.
+     */
+    ByteBuffer shrink(ByteBuffer buffer) {
+        if (buffer.capacity() == bufferSize || buffer.position() > 0) {
+            return buffer;
+        }
+        return acquire();
+    }
+
+    int idle() {
+        return idle.size();
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello.nio;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import org.opendaylight.controller.sal.binding.api.BindingAwareBroker.ProviderContext;
+import org.opendaylight.controller.sal.binding.api.BindingAwareProvider;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class HelloNioProvider implements BindingAwareProvider, AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HelloNioProvider.class);
+    private final InetSocketAddress address;
+    private final int maxFrameSize;
+    private final int maxOutstanding;
+    private final int callThreads;
+    private HelloNioServer server;
+
+    public HelloNioProvider(InetSocketAddress address, int maxFrameSize, int maxOutstanding, int callThreads) {
+        this.address = address;
+        this.maxFrameSize = maxFrameSize;
+        this.maxOutstanding = maxOutstanding;
+        this.callThreads = callThreads;
+    }
+
+    @Override
+    public void onSessionInitiated(ProviderContext session) {
+        HelloService helloService = session.getRpcService(HelloService.class);
+        try {
+            server = new HelloNioServer(helloService, address, maxFrameSize, maxOutstanding, callThreads);
+        } catch (IOException e) {
+            LOG.error("Failed to bind the hello NIO front-end to {}", address, e);
+            return;
+        }
+        server.start();
+        LOG.info("HelloNioProvider Session Initiated, listening on {}", address);
+    }
+
+    @Override
+    public void close() throws Exception {
+        LOG.info("HelloNioProvider Closed");
+        if (server != null) server.close();
+    }
+
+}
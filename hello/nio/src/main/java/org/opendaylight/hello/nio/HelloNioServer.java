@@ -0,0 +1,358 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello.nio;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.JdkFutureAdapters;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloService;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldOutput;
+import org.opendaylight.yangtools.yang.common.RpcError;
+import org.opendaylight.yangtools.yang.common.RpcResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Serves {@link HelloService#helloWorld} over a compact binary protocol on a TCP port.
+ *
+ * <p>Every frame is a 4 byte big-endian length followed by that many bytes. A request frame holds a 4 byte
+ * request id chosen by the client followed by the UTF-8 name. Its response frame holds the same id, a status
+ * byte, and the UTF-8 greeting for {@link #STATUS_OK} or the error message for {@link #STATUS_ERROR}. Clients
+ * may send any number of requests without waiting for their responses; responses are written as the calls
+ * complete, so not necessarily in the order of the requests.
+ *
+ * <p>One thread runs the selector of all connections and only moves bytes: decoded requests are handed to a fixed
+ * pool of call threads, since a call answered from the greeting cache runs to its end, operational write included,
+ * on the thread starting it. Each connection reads and writes through two small direct
+ * buffers from a {@link BufferPool}, taken when it is accepted and handed back when it closes, so nothing is
+ * allocated per request besides the name and the response. A buffer only grows for a frame larger than the pooled
+ * size, so idle connections do not hold {@code maxFrameSize} bytes each. A connection is not read while
+ * {@code maxOutstanding} of its requests await their response, which pushes back on the client through TCP
+ * flow control.
+ */
+public class HelloNioServer implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(HelloNioServer.class);
+    public static final int MIN_FRAME_SIZE = 64;
+    public static final int MAX_FRAME_SIZE = 16 * 1024 * 1024;
+    static final byte STATUS_OK = 0;
+    static final byte STATUS_ERROR = 1;
+    private static final int MAX_IDLE_BUFFERS = 64;
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+    private final HelloService service;
+    private final int maxFrameSize;
+    private final int maxOutstanding;
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final BufferPool buffers;
+    private final ExecutorService calls;
+    private final Queue<NioConnection> flushes = new ConcurrentLinkedQueue<>();
+    // only used on the selector thread
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    // grows to the longest name decoded
+    private CharBuffer chars;
+    private final Thread thread;
+    private volatile boolean closed;
+
+    /**
+     * Binds the server socket, accepting connections once {@link #start() started}.
+     *
+     * @throws IOException if the address cannot be bound
+     */
+    public HelloNioServer(HelloService service, InetSocketAddress address, int maxFrameSize, int maxOutstanding,
+            int callThreads) throws IOException {
+        this(service, address, maxFrameSize, maxOutstanding, callThreads, INITIAL_BUFFER_SIZE);
+    }
+
+    HelloNioServer(HelloService service, InetSocketAddress address, int maxFrameSize, int maxOutstanding,
+            int callThreads, int initialBufferSize) throws IOException {
+        this.service = service;
+        this.maxFrameSize = maxFrameSize;
+        this.maxOutstanding = maxOutstanding;
+        // no need for a pooled buffer larger than a whole frame with its length
+        int bufferSize = Math.min(initialBufferSize, maxFrameSize + 4);
+        this.buffers = new BufferPool(bufferSize, MAX_IDLE_BUFFERS);
+        this.chars = CharBuffer.allocate(bufferSize);
+        this.serverChannel = ServerSocketChannel.open();
+        Selector opened = null;
+        try {
+            serverChannel.configureBlocking(false);
+            serverChannel.socket().setReuseAddress(true);
+            serverChannel.bind(address);
+            opened = Selector.open();
+            serverChannel.register(opened, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            if (opened != null) {
+                opened.close();
+            }
+            serverChannel.close();
+            throw e;
+        }
+        this.selector = opened;
+        // at most maxOutstanding requests of each connection are queued
+        this.calls = Executors.newFixedThreadPool(callThreads, new ThreadFactoryBuilder()
+                .setNameFormat("hello-nio-call-" + getLocalPort() + "-%d")
+                .setDaemon(true)
+                .build());
+        this.thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                select();
+            }
+        }, "hello-nio-" + getLocalPort());
+        thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    public int getLocalPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    int maxFrameSize() {
+        return maxFrameSize;
+    }
+
+    int maxOutstanding() {
+        return maxOutstanding;
+    }
+
+    BufferPool buffers() {
+        return buffers;
+    }
+
+    private void select() {
+        while (!closed) {
+            try {
+                selector.select();
+            } catch (IOException e) {
+                LOG.error("Selector failed, the hello NIO front-end stops serving", e);
+                break;
+            }
+            flushScheduled();
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                if (!key.isValid()) {
+                    continue;
+                }
+                if (key.isAcceptable()) {
+                    accept();
+                    continue;
+                }
+                NioConnection connection = (NioConnection) key.attachment();
+                try {
+                    if (key.isReadable()) {
+                        connection.read();
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        connection.flush();
+                    }
+                } catch (IOException | CancelledKeyException e) {
+                    LOG.debug("Closing connection {}", connection, e);
+                    connection.close();
+                }
+            }
+        }
+        closeAll();
+    }
+
+    private void accept() {
+        SocketChannel channel;
+        try {
+            channel = serverChannel.accept();
+        } catch (IOException e) {
+            LOG.warn("Failed to accept a connection", e);
+            return;
+        }
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            new NioConnection(this, channel, selector);
+        } catch (IOException e) {
+            LOG.warn("Failed to set up connection {}", channel.socket().getRemoteSocketAddress(), e);
+            try {
+                channel.close();
+            } catch (IOException closeFailure) {
+                LOG.debug("Failed to close connection", closeFailure);
+            }
+        }
+    }
+
+    /**
+     * Has a call thread start the call of a request, its response is handed to the connection once it completes.
+     */
+    void call(final NioConnection connection, final int id, final String name) {
+        try {
+            calls.execute(new Runnable() {
+                @Override
+                public void run() {
+                    start(connection, id, name);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            connection.respond(id, STATUS_ERROR, "The hello NIO front-end is closing");
+        }
+    }
+
+    private void start(final NioConnection connection, final int id, String name) {
+        ListenableFuture<RpcResult<HelloWorldOutput>> future;
+        try {
+            future = listenable(service.helloWorld(new HelloWorldInputBuilder().setName(name).build()));
+        } catch (RuntimeException e) {
+            LOG.debug("hello-world call for {} failed", name, e);
+            connection.respond(id, STATUS_ERROR, String.valueOf(e.getMessage()));
+            return;
+        }
+        Futures.addCallback(future, new FutureCallback<RpcResult<HelloWorldOutput>>() {
+            @Override
+            public void onSuccess(RpcResult<HelloWorldOutput> result) {
+                if (result.isSuccessful() && result.getResult() != null && result.getResult().getGreeting() != null) {
+                    connection.respond(id, STATUS_OK, result.getResult().getGreeting());
+                } else {
+                    connection.respond(id, STATUS_ERROR, errorMessage(result));
+                }
+            }
+
+            @Override
+            public void onFailure(Throwable t) {
+                connection.respond(id, STATUS_ERROR, String.valueOf(t.getMessage()));
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> ListenableFuture<V> listenable(Future<V> future) {
+        // the binding RPC services return listenable futures, anything else gets a thread waiting for it
+        return future instanceof ListenableFuture ? (ListenableFuture<V>) future
+                : JdkFutureAdapters.listenInPoolThread(future);
+    }
+
+    private static String errorMessage(RpcResult<?> result) {
+        for (RpcError error : result.getErrors()) {
+            if (error.getMessage() != null) {
+                return error.getMessage();
+            }
+        }
+        return "hello-world call failed";
+    }
+
+    /**
+     * Has the selector thread flush a connection. Called on any thread.
+     */
+    void scheduleFlush(NioConnection connection) {
+        flushes.offer(connection);
+        selector.wakeup();
+    }
+
+    private void flushScheduled() {
+        NioConnection connection;
+        while ((connection = flushes.poll()) != null) {
+            try {
+                connection.flush();
+            } catch (IOException | CancelledKeyException e) {
+                LOG.debug("Closing connection {}", connection, e);
+                connection.close();
+            }
+        }
+    }
+
+    /**
+     * Decodes the remaining bytes of a buffer.
+     */
+    String decode(ByteBuffer bytes) {
+        // a UTF-8 encoding takes at least 1 byte per char
+        if (chars.capacity() < bytes.remaining()) {
+            chars = CharBuffer.allocate(bytes.remaining());
+        }
+        chars.clear();
+        decoder.reset();
+        decoder.decode(bytes, chars, true);
+        decoder.flush(chars);
+        chars.flip();
+        return chars.toString();
+    }
+
+    /**
+     * Encodes a string into a buffer, returning false without a complete encoding if it does not fit.
+     */
+    boolean encode(String text, ByteBuffer bytes) {
+        encoder.reset();
+        return !encoder.encode(CharBuffer.wrap(text), bytes, true).isOverflow()
+                && !encoder.flush(bytes).isOverflow();
+    }
+
+    private void closeAll() {
+        if (!selector.isOpen()) {
+            return;
+        }
+        for (SelectionKey key : selector.keys()) {
+            if (key.attachment() instanceof NioConnection) {
+                ((NioConnection) key.attachment()).close();
+            }
+        }
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException e) {
+            LOG.warn("Failed to close the hello NIO front-end", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        // calls in progress still complete, their responses are dropped with the connections
+        calls.shutdownNow();
+        if (!thread.isAlive()) {
+            closeAll();
+            return;
+        }
+        selector.wakeup();
+        try {
+            thread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello.nio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One client connection of the {@link HelloNioServer}.
+ *
+ * <p>Everything but {@link #respond} runs on the selector thread. Responses are queued by whichever thread
+ * completes the call and encoded into the write buffer by the selector thread, which is woken up once per
+ * batch of responses rather than once per response.
+ *
+ * <p>Both buffers start at the pooled size and grow up to a whole frame only for a frame that does not fit, then
+ * go back to the pooled size once they are empty again.
+ */
+final class NioConnection {
+    private static final Logger LOG = LoggerFactory.getLogger(NioConnection.class);
+    // length, request id and status
+    private static final int FRAME_OVERHEAD = 9;
+    private final HelloNioServer server;
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private ByteBuffer readBuffer;
+    private ByteBuffer writeBuffer;
+    private final Queue<Response> responses = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private int outstanding;
+    private boolean inputShutdown;
+    private volatile boolean closed;
+
+    NioConnection(HelloNioServer server, SocketChannel channel, Selector selector) throws IOException {
+        this.server = server;
+        this.channel = channel;
+        this.readBuffer = server.buffers().acquire();
+        this.writeBuffer = server.buffers().acquire();
+        try {
+            this.key = channel.register(selector, SelectionKey.OP_READ, this);
+        } catch (IOException e) {
+            server.buffers().release(readBuffer);
+            server.buffers().release(writeBuffer);
+            throw e;
+        }
+    }
+
+    /**
+     * Reads what the client sent and starts the calls of the complete requests.
+     *
+     * @throws IOException if reading fails or the client sent a frame of an invalid length
+     */
+    void read() throws IOException {
+        if (channel.read(readBuffer) < 0) {
+            // the client is done sending, answer what it sent before closing
+            inputShutdown = true;
+        }
+        processFrames();
+        updateInterest();
+        closeIfDone();
+    }
+
+    private void processFrames() throws IOException {
+        int needed = 0;
+        readBuffer.flip();
+        try {
+            while (outstanding < server.maxOutstanding() && readBuffer.remaining() >= 4) {
+                int position = readBuffer.position();
+                int length = readBuffer.getInt(position);
+                if (length < 4 || length > server.maxFrameSize()) {
+                    throw new IOException("Invalid frame length " + length + " from " + this);
+                }
+                if (readBuffer.remaining() < 4 + length) {
+                    needed = 4 + length;
+                    break;
+                }
+                int id = readBuffer.getInt(position + 4);
+                int end = position + 4 + length;
+                int limit = readBuffer.limit();
+                readBuffer.position(position + 8).limit(end);
+                String name = server.decode(readBuffer);
+                readBuffer.limit(limit).position(end);
+                outstanding++;
+                server.call(this, id, name);
+            }
+        } finally {
+            readBuffer.compact();
+        }
+        if (needed > readBuffer.capacity()) {
+            readBuffer = server.buffers().grow(readBuffer, needed);
+        } else {
+            readBuffer = server.buffers().shrink(readBuffer);
+        }
+    }
+
+    /**
+     * Queues the response to a request, to be written by the selector thread. Called on any thread.
+     */
+    void respond(int id, byte status, String text) {
+        if (closed) {
+            return;
+        }
+        responses.offer(new Response(id, status, text));
+        if (flushScheduled.compareAndSet(false, true)) {
+            server.scheduleFlush(this);
+        }
+    }
+
+    /**
+     * Writes the queued responses until the socket does not take more.
+     *
+     * @throws IOException if writing fails
+     */
+    void flush() throws IOException {
+        flushScheduled.set(false);
+        if (closed) {
+            return;
+        }
+        int before = outstanding;
+        do {
+            encodeResponses();
+            writeBuffer.flip();
+            channel.write(writeBuffer);
+            writeBuffer.compact();
+        } while (writeBuffer.position() == 0 && !responses.isEmpty());
+        writeBuffer = server.buffers().shrink(writeBuffer);
+        if (outstanding < before && readBuffer.position() > 0) {
+            // reading may have paused with complete requests already buffered
+            processFrames();
+        }
+        updateInterest();
+        closeIfDone();
+    }
+
+    private void encodeResponses() {
+        Response response;
+        while ((response = responses.peek()) != null) {
+            if (!encode(response.id, response.status, response.text)) {
+                if (writeBuffer.position() > 0) {
+                    // continue once the buffered responses are written
+                    break;
+                }
+                int frameSize = server.maxFrameSize() + 4;
+                if (writeBuffer.capacity() < frameSize) {
+                    // a UTF-8 encoding takes at most 3 bytes per char
+                    int size = (int) Math.min(FRAME_OVERHEAD + 3L * response.text.length(), frameSize);
+                    writeBuffer = server.buffers().grow(writeBuffer, size);
+                    continue;
+                }
+                encode(response.id, HelloNioServer.STATUS_ERROR, "Response exceeds the maximum frame size");
+            }
+            responses.poll();
+            outstanding--;
+        }
+    }
+
+    private boolean encode(int id, byte status, String text) {
+        int start = writeBuffer.position();
+        if (writeBuffer.remaining() < FRAME_OVERHEAD) {
+            return false;
+        }
+        writeBuffer.position(start + 4);
+        writeBuffer.putInt(id).put(status);
+        if (!server.encode(text, writeBuffer)) {
+            writeBuffer.position(start);
+            return false;
+        }
+        writeBuffer.putInt(start, writeBuffer.position() - start - 4);
+        return true;
+    }
+
+    private void updateInterest() {
+        if (closed) {
+            return;
+        }
+        int ops = 0;
+        if (!inputShutdown && outstanding < server.maxOutstanding()) {
+            ops |= SelectionKey.OP_READ;
+        }
+        if (writeBuffer.position() > 0) {
+            ops |= SelectionKey.OP_WRITE;
+        }
+        key.interestOps(ops);
+    }
+
+    private void closeIfDone() {
+        if (inputShutdown && outstanding == 0 && writeBuffer.position() == 0) {
+            close();
+        }
+    }
+
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOG.debug("Failed to close {}", this, e);
+        }
+        responses.clear();
+        server.buffers().release(readBuffer);
+        server.buffers().release(writeBuffer);
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(channel.socket().getRemoteSocketAddress());
+    }
+
+    private static final class Response {
+        private final int id;
+        private final byte status;
+        private final String text;
+
+        Response(int id, byte status, String text) {
+            this.id = id;
+            this.status = status;
+            this.text = text;
+        }
+    }
+}
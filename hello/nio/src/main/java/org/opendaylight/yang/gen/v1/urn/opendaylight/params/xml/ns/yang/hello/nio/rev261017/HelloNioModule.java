@@ -0,0 +1,47 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.nio.rev261017;
+
+import java.net.InetSocketAddress;
+import org.opendaylight.controller.config.api.JmxAttributeValidationException;
+import org.opendaylight.hello.nio.HelloNioProvider;
+import org.opendaylight.hello.nio.HelloNioServer;
+
+public class HelloNioModule extends org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.nio.rev261017.AbstractHelloNioModule {
+    public HelloNioModule(org.opendaylight.controller.config.api.ModuleIdentifier identifier, org.opendaylight.controller.config.api.DependencyResolver dependencyResolver) {
+        super(identifier, dependencyResolver);
+    }
+
+    public HelloNioModule(org.opendaylight.controller.config.api.ModuleIdentifier identifier, org.opendaylight.controller.config.api.DependencyResolver dependencyResolver, org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.nio.rev261017.HelloNioModule oldModule, java.lang.AutoCloseable oldInstance) {
+        super(identifier, dependencyResolver, oldModule, oldInstance);
+    }
+
+    @Override
+    public void customValidation() {
+        JmxAttributeValidationException.checkCondition(getBindAddress() != null && !getBindAddress().isEmpty(),
+                "must not be empty", bindAddressJmxAttribute);
+        JmxAttributeValidationException.checkCondition(getPort() > 0,
+                "must be greater than 0", portJmxAttribute);
+        JmxAttributeValidationException.checkCondition(getMaxFrameSize() >= HelloNioServer.MIN_FRAME_SIZE
+                && getMaxFrameSize() <= HelloNioServer.MAX_FRAME_SIZE, "must be between "
+                + HelloNioServer.MIN_FRAME_SIZE + " and " + HelloNioServer.MAX_FRAME_SIZE, maxFrameSizeJmxAttribute);
+        JmxAttributeValidationException.checkCondition(getMaxOutstandingRequests() > 0,
+                "must be greater than 0", maxOutstandingRequestsJmxAttribute);
+        JmxAttributeValidationException.checkCondition(getCallThreads() > 0,
+                "must be greater than 0", callThreadsJmxAttribute);
+    }
+
+    @Override
+    public java.lang.AutoCloseable createInstance() {
+        HelloNioProvider provider = new HelloNioProvider(new InetSocketAddress(getBindAddress(), getPort()),
+                getMaxFrameSize().intValue(), getMaxOutstandingRequests().intValue(), getCallThreads().intValue());
+        getBrokerDependency().registerProvider(provider);
+        return provider;
+    }
+
+}
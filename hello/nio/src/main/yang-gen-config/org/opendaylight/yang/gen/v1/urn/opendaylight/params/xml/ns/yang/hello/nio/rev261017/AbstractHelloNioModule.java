@@ -0,0 +1,183 @@
+/*
+* Generated file
+*
+* Generated from: yang module name: hello-nio yang module local name: hello-nio
+* Generated by: org.opendaylight.controller.config.yangjmxgenerator.plugin.JMXGenerator
+* Generated at: Thu Feb 18 11:02:17 IST 2016
+*
+* Do not modify this file unless it is present under src/main directory
+*/
+package org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.nio.rev261017;
+@org.opendaylight.yangtools.yang.binding.annotations.ModuleQName(namespace = "urn:opendaylight:params:xml:ns:yang:hello:nio", name = "hello-nio", revision = "2026-10-17")
+
+public abstract class AbstractHelloNioModule extends org.opendaylight.controller.config.spi.AbstractModule<AbstractHelloNioModule> implements org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.nio.rev261017.HelloNioModuleMXBean {
+    public static final org.opendaylight.controller.config.api.JmxAttribute brokerJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("Broker");
+    public static final org.opendaylight.controller.config.api.JmxAttribute bindAddressJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("BindAddress");
+    public static final org.opendaylight.controller.config.api.JmxAttribute portJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("Port");
+    public static final org.opendaylight.controller.config.api.JmxAttribute maxFrameSizeJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("MaxFrameSize");
+    public static final org.opendaylight.controller.config.api.JmxAttribute maxOutstandingRequestsJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("MaxOutstandingRequests");
+    public static final org.opendaylight.controller.config.api.JmxAttribute callThreadsJmxAttribute = new org.opendaylight.controller.config.api.JmxAttribute("CallThreads");
+
+    //attributes start
+    private static final org.slf4j.Logger LOGGER = org.slf4j.LoggerFactory.getLogger(org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.nio.rev261017.AbstractHelloNioModule.class);
+    private javax.management.ObjectName broker; // mandatory
+
+    private java.lang.String bindAddress = "127.0.0.1";
+    private java.lang.Integer port = new java.lang.Integer("7657");
+    private java.lang.Long maxFrameSize = new java.lang.Long("65536");
+    private java.lang.Long maxOutstandingRequests = new java.lang.Long("1024");
+    private java.lang.Long callThreads = new java.lang.Long("4");
+    //attributes end
+    private org.opendaylight.controller.sal.binding.api.BindingAwareBroker brokerDependency;
+
+    public AbstractHelloNioModule(org.opendaylight.controller.config.api.ModuleIdentifier identifier,org.opendaylight.controller.config.api.DependencyResolver dependencyResolver) {
+        super(identifier, dependencyResolver);
+    }
+
+    public AbstractHelloNioModule(org.opendaylight.controller.config.api.ModuleIdentifier identifier,org.opendaylight.controller.config.api.DependencyResolver dependencyResolver,AbstractHelloNioModule oldModule,java.lang.AutoCloseable oldInstance) {
+        super(identifier, dependencyResolver, oldModule, oldInstance);
+    }
+
+    @Override
+    public void validate() {
+        dependencyResolver.validateDependency(org.opendaylight.controller.config.yang.md.sal.binding.BindingAwareBrokerServiceInterface.class, broker, brokerJmxAttribute);
+
+        customValidation();
+    }
+
+    protected void customValidation() {
+    }
+
+    protected final org.opendaylight.controller.sal.binding.api.BindingAwareBroker getBrokerDependency(){
+        return brokerDependency;
+    }
+
+    protected final void resolveDependencies() {
+        brokerDependency = dependencyResolver.resolveInstance(org.opendaylight.controller.sal.binding.api.BindingAwareBroker.class, broker, brokerJmxAttribute);
+    }
+
+    public boolean canReuseInstance(AbstractHelloNioModule oldModule){
+        // allow reusing of old instance if no parameters was changed
+        return isSame(oldModule);
+    }
+
+    public java.lang.AutoCloseable reuseInstance(java.lang.AutoCloseable oldInstance){
+        // implement if instance reuse should be supported. Override canReuseInstance to change the criteria.
+        return oldInstance;
+    }
+
+    public boolean isSame(AbstractHelloNioModule other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Parameter 'other' is null");
+        }
+        if (!java.util.Objects.deepEquals(broker, other.broker)) {
+            return false;
+        }
+        if(broker!= null) {
+            if (!dependencyResolver.canReuseDependency(broker, brokerJmxAttribute)) { // reference to dependency must be reusable as well
+                return false;
+            }
+        }
+        if (!java.util.Objects.deepEquals(bindAddress, other.bindAddress)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(port, other.port)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(maxFrameSize, other.maxFrameSize)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(maxOutstandingRequests, other.maxOutstandingRequests)) {
+            return false;
+        }
+        if (!java.util.Objects.deepEquals(callThreads, other.callThreads)) {
+            return false;
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+    if (this == o) { return true; }
+    if (o == null || getClass() != o.getClass()) { return false; }
+        AbstractHelloNioModule that = (AbstractHelloNioModule) o;
+        return identifier.equals(that.identifier);
+    }
+
+    @Override
+    public int hashCode() {
+        return identifier.hashCode();
+    }
+
+    // getters and setters
+    @Override
+    public javax.management.ObjectName getBroker() {
+        return broker;
+    }
+
+    @Override
+    public void setBroker(javax.management.ObjectName broker) {
+        this.broker = broker;
+    }
+
+    @Override
+    public java.lang.String getBindAddress() {
+        return bindAddress;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Address the front-end listens on, the loopback address keeps it local")
+    public void setBindAddress(java.lang.String bindAddress) {
+        this.bindAddress = bindAddress;
+    }
+
+    @Override
+    public java.lang.Integer getPort() {
+        return port;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "TCP port the front-end listens on")
+    public void setPort(java.lang.Integer port) {
+        this.port = port;
+    }
+
+    @Override
+    public java.lang.Long getMaxFrameSize() {
+        return maxFrameSize;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Largest request or response frame in bytes, connections sending larger ones are closed")
+    public void setMaxFrameSize(java.lang.Long maxFrameSize) {
+        this.maxFrameSize = maxFrameSize;
+    }
+
+    @Override
+    public java.lang.Long getMaxOutstandingRequests() {
+        return maxOutstandingRequests;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Number of requests of a connection awaiting their response before reading from it pauses")
+    public void setMaxOutstandingRequests(java.lang.Long maxOutstandingRequests) {
+        this.maxOutstandingRequests = maxOutstandingRequests;
+    }
+
+    @Override
+    public java.lang.Long getCallThreads() {
+        return callThreads;
+    }
+
+    @Override
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Threads starting the hello-world calls of decoded requests, so that the selector thread only moves bytes")
+    public void setCallThreads(java.lang.Long callThreads) {
+        this.callThreads = callThreads;
+    }
+
+    public org.slf4j.Logger getLogger() {
+        return LOGGER;
+    }
+
+}
@@ -0,0 +1,41 @@
+/*
+* Generated file
+*
+* Generated from: yang module name: hello-nio yang module local name: hello-nio
+* Generated by: org.opendaylight.controller.config.yangjmxgenerator.plugin.JMXGenerator
+* Generated at: Thu Feb 18 11:02:17 IST 2016
+*
+* Do not modify this file unless it is present under src/main directory
+*/
+package org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.nio.rev261017;
+public interface HelloNioModuleMXBean {
+    public javax.management.ObjectName getBroker();
+
+    public void setBroker(javax.management.ObjectName broker);
+
+    public java.lang.String getBindAddress();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Address the front-end listens on, the loopback address keeps it local")
+    public void setBindAddress(java.lang.String bindAddress);
+
+    public java.lang.Integer getPort();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "TCP port the front-end listens on")
+    public void setPort(java.lang.Integer port);
+
+    public java.lang.Long getMaxFrameSize();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Largest request or response frame in bytes, connections sending larger ones are closed")
+    public void setMaxFrameSize(java.lang.Long maxFrameSize);
+
+    public java.lang.Long getMaxOutstandingRequests();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Number of requests of a connection awaiting their response before reading from it pauses")
+    public void setMaxOutstandingRequests(java.lang.Long maxOutstandingRequests);
+
+    public java.lang.Long getCallThreads();
+
+    @org.opendaylight.controller.config.api.annotations.Description(value = "Threads starting the hello-world calls of decoded requests, so that the selector thread only moves bytes")
+    public void setCallThreads(java.lang.Long callThreads);
+
+}
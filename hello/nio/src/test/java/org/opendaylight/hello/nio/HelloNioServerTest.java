@@ -0,0 +1,162 @@
+/*
+ * Copyright © 2015 left and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.hello.nio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.util.concurrent.SettableFuture;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloService;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.params.xml.ns.yang.hello.rev261017.HelloWorldOutputBuilder;
+import org.opendaylight.yangtools.yang.common.RpcError.ErrorType;
+import org.opendaylight.yangtools.yang.common.RpcResult;
+import org.opendaylight.yangtools.yang.common.RpcResultBuilder;
+
+public class HelloNioServerTest {
+    private final ConcurrentMap<String, SettableFuture<RpcResult<HelloWorldOutput>>> calls = new ConcurrentHashMap<>();
+    private final Set<String> callingThreads = new CopyOnWriteArraySet<>();
+    private HelloNioServer server;
+    private SocketChannel client;
+
+    @Before
+    public void setUp() throws Exception {
+        HelloService service = mock(HelloService.class);
+        when(service.helloWorld(any(HelloWorldInput.class))).thenAnswer(invocation -> {
+            SettableFuture<RpcResult<HelloWorldOutput>> call = SettableFuture.create();
+            callingThreads.add(Thread.currentThread().getName());
+            calls.put(((HelloWorldInput) invocation.getArguments()[0]).getName(), call);
+            return call;
+        });
+        // buffers smaller than a frame, so that they have to grow for long names
+        server = new HelloNioServer(service, new InetSocketAddress("127.0.0.1", 0), 1024, 2, 2, 64);
+        server.start();
+        client = SocketChannel.open(new InetSocketAddress("127.0.0.1", server.getLocalPort()));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    public void testPipelinedResponsesFollowCompletion() throws Exception {
+        ByteBuffer requests = ByteBuffer.allocate(256);
+        request(requests, 1, "Jesus");
+        request(requests, 2, "Maria");
+        request(requests, 3, "Jose");
+        requests.flip();
+        client.write(requests);
+
+        // at most 2 outstanding requests, the third is only read once one of them was answered
+        awaitCalls(2);
+        assertEquals(2, calls.size());
+        calls.get("Maria").set(greeting("Hola Maria"));
+        assertResponse(2, HelloNioServer.STATUS_OK, "Hola Maria");
+
+        awaitCalls(3);
+        calls.get("Jose").set(RpcResultBuilder.<HelloWorldOutput>failed()
+                .withError(ErrorType.APPLICATION, "operation-failed", "No greeting for Jose").build());
+        calls.get("Jesus").set(greeting("Hola Jesus"));
+        assertResponse(3, HelloNioServer.STATUS_ERROR, "No greeting for Jose");
+        assertResponse(1, HelloNioServer.STATUS_OK, "Hola Jesus");
+    }
+
+    @Test
+    public void testFramesLargerThanBuffersGrowThem() throws Exception {
+        char[] chars = new char[500];
+        Arrays.fill(chars, 'a');
+        String name = new String(chars);
+        ByteBuffer requests = ByteBuffer.allocate(1024);
+        request(requests, 1, name);
+        request(requests, 2, "Jesus");
+        requests.flip();
+        client.write(requests);
+
+        awaitCalls(2);
+        calls.get(name).set(greeting("Hola " + name));
+        assertResponse(1, HelloNioServer.STATUS_OK, "Hola " + name);
+        calls.get("Jesus").set(greeting("Hola Jesus"));
+        assertResponse(2, HelloNioServer.STATUS_OK, "Hola Jesus");
+    }
+
+    @Test
+    public void testCallsStartedOffTheSelectorThread() throws Exception {
+        ByteBuffer requests = ByteBuffer.allocate(64);
+        request(requests, 1, "Jesus");
+        request(requests, 2, "Maria");
+        requests.flip();
+        client.write(requests);
+
+        awaitCalls(2);
+        for (String thread : callingThreads) {
+            assertTrue(thread, thread.startsWith("hello-nio-call-"));
+        }
+        calls.get("Jesus").set(greeting("Hola Jesus"));
+        assertResponse(1, HelloNioServer.STATUS_OK, "Hola Jesus");
+    }
+
+    @Test
+    public void testOversizedFrameClosesConnection() throws Exception {
+        ByteBuffer frame = ByteBuffer.allocate(8);
+        frame.putInt(1025).putInt(1).flip();
+        client.write(frame);
+        assertEquals(-1, client.read(ByteBuffer.allocate(16)));
+    }
+
+    private static void request(ByteBuffer buffer, int id, String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(4 + bytes.length).putInt(id).put(bytes);
+    }
+
+    private static RpcResult<HelloWorldOutput> greeting(String greeting) {
+        return RpcResultBuilder.success(new HelloWorldOutputBuilder().setGreeting(greeting).build()).build();
+    }
+
+    private void awaitCalls(int count) throws InterruptedException {
+        for (int i = 0; i < 500 && calls.size() < count; i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void assertResponse(int id, byte status, String text) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(4);
+        readFully(length);
+        ByteBuffer frame = ByteBuffer.allocate(length.getInt(0));
+        readFully(frame);
+        assertEquals(id, frame.getInt(0));
+        assertEquals(status, frame.get(4));
+        assertEquals(text, new String(frame.array(), 5, frame.capacity() - 5, StandardCharsets.UTF_8));
+    }
+
+    private void readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (client.read(buffer) < 0) {
+                throw new IOException("Connection closed");
+            }
+        }
+    }
+}